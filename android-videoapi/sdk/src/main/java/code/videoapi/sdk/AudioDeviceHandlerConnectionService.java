@@ -22,9 +22,6 @@ import android.os.Build;
 import android.telecom.CallAudioState;
 import androidx.annotation.RequiresApi;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import code.videoapi.sdk.log.VideoAPILogger;
 
 
@@ -54,13 +51,10 @@ class AudioDeviceHandlerConnectionService implements
      * {@link android.telecom.CallAudioState} "ROUTE_" number.
      *
      * @param audioDevice one of the "DEVICE_" constants.
-     * @return a route number {@link android.telecom.CallAudioState#ROUTE_EARPIECE} if
+     * @return a route number {@link android.telecom.CallAudioState#ROUTE_SPEAKER} if
      * no match is found.
      */
-    private static int audioDeviceToRouteInt(String audioDevice) {
-        if (audioDevice == null) {
-            return CallAudioState.ROUTE_SPEAKER;
-        }
+    private static int audioDeviceToRouteInt(int audioDevice) {
         switch (audioDevice) {
             case AudioModeModule.DEVICE_BLUETOOTH:
                 return CallAudioState.ROUTE_BLUETOOTH;
@@ -70,32 +64,57 @@ class AudioDeviceHandlerConnectionService implements
                 return CallAudioState.ROUTE_WIRED_HEADSET;
             case AudioModeModule.DEVICE_SPEAKER:
                 return CallAudioState.ROUTE_SPEAKER;
+            case AudioModeModule.DEVICE_NONE:
+                return CallAudioState.ROUTE_SPEAKER;
             default:
-                VideoAPILogger.e(TAG + " Unsupported device name: " + audioDevice);
+                VideoAPILogger.e(TAG + " Unsupported device: " + audioDevice);
                 return CallAudioState.ROUTE_SPEAKER;
         }
     }
 
     /**
-     * Populates given route mask into the "DEVICE_" list.
+     * Converts a {@link android.telecom.CallAudioState} "ROUTE_" number into
+     * the corresponding "DEVICE_" constant.
+     *
+     * @param route a route number.
+     * @return one of the "DEVICE_" constants, {@code DEVICE_NONE} if no match
+     * is found.
+     */
+    private static int routeIntToAudioDevice(int route) {
+        switch (route) {
+            case CallAudioState.ROUTE_BLUETOOTH:
+                return AudioModeModule.DEVICE_BLUETOOTH;
+            case CallAudioState.ROUTE_EARPIECE:
+                return AudioModeModule.DEVICE_EARPIECE;
+            case CallAudioState.ROUTE_WIRED_HEADSET:
+                return AudioModeModule.DEVICE_HEADPHONES;
+            case CallAudioState.ROUTE_SPEAKER:
+                return AudioModeModule.DEVICE_SPEAKER;
+            default:
+                return AudioModeModule.DEVICE_NONE;
+        }
+    }
+
+    /**
+     * Converts the given route mask into a mask of "DEVICE_" constants.
      *
      * @param supportedRouteMask an integer coming from
      * {@link android.telecom.CallAudioState#getSupportedRouteMask()}.
-     * @return a list of device names.
+     * @return a mask of "DEVICE_" constants.
      */
-    private static Set<String> routesToDeviceNames(int supportedRouteMask) {
-        Set<String> devices = new HashSet<>();
+    private static int routesToDevices(int supportedRouteMask) {
+        int devices = AudioModeModule.DEVICE_NONE;
         if ((supportedRouteMask & CallAudioState.ROUTE_EARPIECE) == CallAudioState.ROUTE_EARPIECE) {
-            devices.add(AudioModeModule.DEVICE_EARPIECE);
+            devices |= AudioModeModule.DEVICE_EARPIECE;
         }
         if ((supportedRouteMask & CallAudioState.ROUTE_BLUETOOTH) == CallAudioState.ROUTE_BLUETOOTH) {
-            devices.add(AudioModeModule.DEVICE_BLUETOOTH);
+            devices |= AudioModeModule.DEVICE_BLUETOOTH;
         }
         if ((supportedRouteMask & CallAudioState.ROUTE_SPEAKER) == CallAudioState.ROUTE_SPEAKER) {
-            devices.add(AudioModeModule.DEVICE_SPEAKER);
+            devices |= AudioModeModule.DEVICE_SPEAKER;
         }
         if ((supportedRouteMask & CallAudioState.ROUTE_WIRED_HEADSET) == CallAudioState.ROUTE_WIRED_HEADSET) {
-            devices.add(AudioModeModule.DEVICE_HEADPHONES);
+            devices |= AudioModeModule.DEVICE_HEADPHONES;
         }
         return devices;
     }
@@ -108,6 +127,13 @@ class AudioDeviceHandlerConnectionService implements
      */
     private int supportedRouteMask = -1;
 
+    /**
+     * The most recently reported route, -1 if none. Telecom reports no new
+     * {@link CallAudioState} when asked for the route which is already
+     * active, so such switches are confirmed right away.
+     */
+    private int currentRoute = -1;
+
     public AudioDeviceHandlerConnectionService(AudioManager audioManager) {
         this.audioManager = audioManager;
     }
@@ -117,19 +143,27 @@ class AudioDeviceHandlerConnectionService implements
         module.runInAudioThread(new Runnable() {
             @Override
             public void run() {
+                currentRoute = state.getRoute();
+                module.onAudioRouteChanged(routeIntToAudioDevice(currentRoute));
+
                 boolean audioRouteChanged
                     = audioDeviceToRouteInt(module.getSelectedDevice()) != state.getRoute();
                 int newSupportedRoutes = state.getSupportedRouteMask();
                 boolean audioDevicesChanged = supportedRouteMask != newSupportedRoutes;
                 if (audioDevicesChanged) {
                     supportedRouteMask = newSupportedRoutes;
-                    Set<String> devices = routesToDeviceNames(supportedRouteMask);
+                    int devices = routesToDevices(supportedRouteMask);
                     module.replaceDevices(devices);
-                    VideoAPILogger.i(TAG + " Available audio devices: " + devices.toString());
+                    VideoAPILogger.i(TAG + " Available audio devices: "
+                        + AudioModeModule.devicesToString(devices));
                 }
 
                 if (audioRouteChanged || audioDevicesChanged) {
-                    module.resetSelectedDevice();
+                    if (audioRouteChanged) {
+                        // The route was changed behind our back, apply ours
+                        // again.
+                        module.resetSelectedDevice();
+                    }
                     module.updateAudioRoute();
                 }
             }
@@ -141,6 +175,7 @@ class AudioDeviceHandlerConnectionService implements
         VideoAPILogger.i("Using " + TAG + " as the audio device handler");
 
         module = audioModeModule;
+        currentRoute = -1;
 
         RNConnectionService rcs = ReactInstanceManagerHolder.getNativeModule(RNConnectionService.class);
         if (rcs != null) {
@@ -160,10 +195,13 @@ class AudioDeviceHandlerConnectionService implements
         }
     }
 
-    public void setAudioRoute(String audioDevice) {
+    public void setAudioRoute(int audioDevice) {
         int newAudioRoute = audioDeviceToRouteInt(audioDevice);
 
         RNConnectionService.setAudioRoute(newAudioRoute);
+        if (newAudioRoute == currentRoute) {
+            module.onAudioRouteAlreadyActive(audioDevice);
+        }
     }
 
     @Override
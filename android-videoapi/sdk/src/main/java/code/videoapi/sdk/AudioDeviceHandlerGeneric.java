@@ -16,11 +16,14 @@
 
 package code.videoapi.sdk;
 
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
 import android.media.AudioDeviceInfo;
 import android.media.AudioManager;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import code.videoapi.sdk.log.VideoAPILogger;
 
@@ -60,37 +63,123 @@ class AudioDeviceHandlerGeneric implements
     private AudioManager audioManager;
 
     /**
-     * {@link Runnable} for running audio device detection the main thread.
-     * This is only used on Android >= M.
+     * {@link Context} used to listen for Bluetooth SCO audio state changes.
+     */
+    private final Context context;
+
+    /**
+     * How long to wait for SCO audio to connect before falling back to another
+     * device, in milliseconds.
+     */
+    private static final long SCO_CONNECT_TIMEOUT = 4000;
+
+    /**
+     * The states of the Bluetooth SCO audio connection.
+     * - SCO_IDLE: not connected, nor wanted.
+     * - SCO_CONNECTING: {@link AudioManager#startBluetoothSco()} was called,
+     *   waiting for {@link AudioManager#SCO_AUDIO_STATE_CONNECTED}.
+     * - SCO_CONNECTED: SCO audio is connected and routed.
+     */
+    private static final int SCO_IDLE       = 0;
+    private static final int SCO_CONNECTING = 1;
+    private static final int SCO_CONNECTED  = 2;
+
+    /**
+     * The state of the Bluetooth SCO audio connection. Only accessed on the
+     * audio thread.
+     */
+    private int scoState = SCO_IDLE;
+
+    /**
+     * Identifies the current SCO connection attempt, so a timeout doesn't
+     * fail the attempts which followed. Only accessed on the audio thread.
+     */
+    private int scoAttempt;
+
+    /**
+     * Drives the SCO state machine with the
+     * {@link AudioManager#ACTION_SCO_AUDIO_STATE_UPDATED} broadcasts.
+     */
+    private final BroadcastReceiver scoAudioStateReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            // The broadcast is sticky, the state it had before we registered
+            // is of no interest.
+            if (isInitialStickyBroadcast()) {
+                return;
+            }
+
+            final int state
+                = intent.getIntExtra(
+                    AudioManager.EXTRA_SCO_AUDIO_STATE,
+                    AudioManager.SCO_AUDIO_STATE_ERROR);
+            final int previousState
+                = intent.getIntExtra(
+                    AudioManager.EXTRA_SCO_AUDIO_PREVIOUS_STATE,
+                    AudioManager.SCO_AUDIO_STATE_ERROR);
+
+            module.runInAudioThread(new Runnable() {
+                @Override
+                public void run() {
+                    if (started) {
+                        onScoAudioStateChanged(state, previousState);
+                    }
+                }
+            });
+        }
+    };
+
+    /**
+     * Whether a device scan is scheduled. Device changes happening until it
+     * runs are collapsed into it.
+     */
+    private final AtomicBoolean scanScheduled = new AtomicBoolean();
+
+    /**
+     * Whether this handler is started. Only accessed on the audio thread.
+     */
+    private boolean started;
+
+    /**
+     * {@link Runnable} for running audio device detection on the audio
+     * thread. This is only used on Android >= M.
      */
     private final Runnable onAudioDeviceChangeRunner = new Runnable() {
         @Override
         public void run() {
-            Set<String> devices = new HashSet<>();
+            // Changes from now on need a new scan.
+            scanScheduled.set(false);
+
+            if (!started) {
+                return;
+            }
+
+            int devices = AudioModeModule.DEVICE_NONE;
             AudioDeviceInfo[] deviceInfos = audioManager.getDevices(AudioManager.GET_DEVICES_ALL);
 
             for (AudioDeviceInfo info: deviceInfos) {
                 switch (info.getType()) {
                     case AudioDeviceInfo.TYPE_BLUETOOTH_SCO:
-                        devices.add(AudioModeModule.DEVICE_BLUETOOTH);
+                        devices |= AudioModeModule.DEVICE_BLUETOOTH;
                         break;
                     case AudioDeviceInfo.TYPE_BUILTIN_EARPIECE:
-                        devices.add(AudioModeModule.DEVICE_EARPIECE);
+                        devices |= AudioModeModule.DEVICE_EARPIECE;
                         break;
                     case AudioDeviceInfo.TYPE_BUILTIN_SPEAKER:
-                        devices.add(AudioModeModule.DEVICE_SPEAKER);
+                        devices |= AudioModeModule.DEVICE_SPEAKER;
                         break;
                     case AudioDeviceInfo.TYPE_WIRED_HEADPHONES:
                     case AudioDeviceInfo.TYPE_WIRED_HEADSET:
                     case TYPE_USB_HEADSET:
-                        devices.add(AudioModeModule.DEVICE_HEADPHONES);
+                        devices |= AudioModeModule.DEVICE_HEADPHONES;
                         break;
                 }
             }
 
             module.replaceDevices(devices);
 
-            VideoAPILogger.i(TAG + " Available audio devices: " + devices.toString());
+            VideoAPILogger.i(TAG + " Available audio devices: "
+                + AudioModeModule.devicesToString(devices));
 
             module.updateAudioRoute();
         }
@@ -102,27 +191,40 @@ class AudioDeviceHandlerGeneric implements
             public void onAudioDevicesAdded(
                 AudioDeviceInfo[] addedDevices) {
                 VideoAPILogger.d(TAG + " Audio devices added");
-                onAudioDeviceChange();
+                onAudioDeviceChange(AudioModeModule.getDeviceChangeDebounce());
             }
 
             @Override
             public void onAudioDevicesRemoved(
                 AudioDeviceInfo[] removedDevices) {
                 VideoAPILogger.d(TAG + " Audio devices removed");
-                onAudioDeviceChange();
+                onAudioDeviceChange(AudioModeModule.getDeviceChangeDebounce());
             }
         };
 
-    public AudioDeviceHandlerGeneric(AudioManager audioManager) {
+    public AudioDeviceHandlerGeneric(Context context, AudioManager audioManager) {
+        this.context = context;
         this.audioManager = audioManager;
     }
 
     /**
      * Helper method to trigger an audio route update when devices change. It
-     * makes sure the operation is performed on the audio thread.
+     * makes sure the operation is performed on the audio thread, once per
+     * burst of changes: changes happening before the scheduled scan runs are
+     * only counted.
+     *
+     * @param delay - The time to wait for more changes, in milliseconds.
      */
-    private void onAudioDeviceChange() {
-        module.runInAudioThread(onAudioDeviceChangeRunner);
+    private void onAudioDeviceChange(long delay) {
+        if (scanScheduled.compareAndSet(false, true)) {
+            if (!module.runInAudioThread(onAudioDeviceChangeRunner, delay)) {
+                // Let the next change try again, rather than collapsing all of
+                // them into a scan which will never run.
+                scanScheduled.set(false);
+            }
+        } else {
+            AudioModeModule.onDeviceChangeCollapsed();
+        }
     }
 
     /**
@@ -160,45 +262,151 @@ class AudioDeviceHandlerGeneric implements
     }
 
     /**
-     * Helper method to set the output route to a Bluetooth device.
+     * Helper method to set the output route to a Bluetooth device. Connecting
+     * SCO audio is asynchronous: the route is reported active once it
+     * connected, or failed if it didn't connect within
+     * {@link #SCO_CONNECT_TIMEOUT}, in which case the module falls back to
+     * the next best device.
      *
      * @param enabled true if Bluetooth should use used, false otherwise.
      */
     private void setBluetoothAudioRoute(boolean enabled) {
         if (enabled) {
-            audioManager.startBluetoothSco();
-            audioManager.setBluetoothScoOn(true);
-        } else {
+            switch (scoState) {
+            case SCO_CONNECTED:
+                audioManager.setBluetoothScoOn(true);
+                module.onAudioRouteChanged(AudioModeModule.DEVICE_BLUETOOTH);
+                break;
+            case SCO_CONNECTING:
+                // Wait for the attempt in progress.
+                break;
+            default:
+                startBluetoothSco();
+                break;
+            }
+        } else if (scoState != SCO_IDLE) {
+            scoState = SCO_IDLE;
+            scoAttempt++;
             audioManager.setBluetoothScoOn(false);
             audioManager.stopBluetoothSco();
         }
     }
 
+    private void startBluetoothSco() {
+        final int attempt = ++scoAttempt;
+
+        VideoAPILogger.d(TAG + " Connecting Bluetooth SCO audio");
+        scoState = SCO_CONNECTING;
+
+        try {
+            audioManager.startBluetoothSco();
+        } catch (Throwable tr) {
+            VideoAPILogger.w(tr, TAG + " Failed to start Bluetooth SCO audio");
+            onScoConnectFailed();
+            return;
+        }
+
+        module.runInAudioThread(new Runnable() {
+            @Override
+            public void run() {
+                if (started && attempt == scoAttempt && scoState == SCO_CONNECTING) {
+                    VideoAPILogger.w(TAG + " Bluetooth SCO audio connection timed out");
+                    onScoConnectFailed();
+                }
+            }
+        }, SCO_CONNECT_TIMEOUT);
+    }
+
+    /**
+     * Handles an {@link AudioManager#EXTRA_SCO_AUDIO_STATE} on the audio
+     * thread.
+     *
+     * @param state - The new SCO audio state.
+     * @param previousState - The SCO audio state before, as per
+     * {@link AudioManager#EXTRA_SCO_AUDIO_PREVIOUS_STATE}.
+     */
+    private void onScoAudioStateChanged(int state, int previousState) {
+        VideoAPILogger.d(TAG + " Bluetooth SCO audio state: " + state
+            + " (previous: " + previousState + "), was: " + scoState);
+
+        switch (state) {
+        case AudioManager.SCO_AUDIO_STATE_CONNECTED:
+            if (scoState == SCO_CONNECTING) {
+                scoState = SCO_CONNECTED;
+                audioManager.setBluetoothScoOn(true);
+                module.onAudioRouteChanged(AudioModeModule.DEVICE_BLUETOOTH);
+            }
+            break;
+        case AudioManager.SCO_AUDIO_STATE_DISCONNECTED:
+            // The disconnection of a previous connection, stopped before this
+            // attempt, arrives late. Only fail if this attempt was connecting
+            // or connected, SCO_CONNECT_TIMEOUT covers the rest.
+            if ((scoState == SCO_CONNECTING
+                        && previousState == AudioManager.SCO_AUDIO_STATE_CONNECTING)
+                    || (scoState == SCO_CONNECTED
+                        && previousState == AudioManager.SCO_AUDIO_STATE_CONNECTED)) {
+                // Either the attempt failed or the headset dropped the
+                // connection.
+                onScoConnectFailed();
+            }
+            break;
+        case AudioManager.SCO_AUDIO_STATE_ERROR:
+            if (scoState != SCO_IDLE) {
+                onScoConnectFailed();
+            }
+            break;
+        }
+    }
+
+    /**
+     * Gives up on SCO audio and lets the module fall back to another device.
+     */
+    private void onScoConnectFailed() {
+        scoState = SCO_IDLE;
+        scoAttempt++;
+        audioManager.setBluetoothScoOn(false);
+        audioManager.stopBluetoothSco();
+        module.onAudioRouteFailed(AudioModeModule.DEVICE_BLUETOOTH);
+    }
+
     @Override
     public void start(AudioModeModule audioModeModule) {
         VideoAPILogger.i("Using " + TAG + " as the audio device handler");
 
         module = audioModeModule;
+        started = true;
 
         // Setup runtime device change detection.
         audioManager.registerAudioDeviceCallback(audioDeviceCallback, null);
+        context.registerReceiver(
+            scoAudioStateReceiver,
+            new IntentFilter(AudioManager.ACTION_SCO_AUDIO_STATE_UPDATED));
 
         // Do an initial detection.
-        onAudioDeviceChange();
+        onAudioDeviceChange(0);
     }
 
     @Override
     public void stop() {
+        started = false;
         audioManager.unregisterAudioDeviceCallback(audioDeviceCallback);
+        context.unregisterReceiver(scoAudioStateReceiver);
+        setBluetoothAudioRoute(false);
     }
 
     @Override
-    public void setAudioRoute(String device) {
+    public void setAudioRoute(int device) {
         // Turn speaker on / off
-        audioManager.setSpeakerphoneOn(device.equals(AudioModeModule.DEVICE_SPEAKER));
+        audioManager.setSpeakerphoneOn(device == AudioModeModule.DEVICE_SPEAKER);
 
         // Turn bluetooth on / off
-        setBluetoothAudioRoute(device.equals(AudioModeModule.DEVICE_BLUETOOTH));
+        setBluetoothAudioRoute(device == AudioModeModule.DEVICE_BLUETOOTH);
+
+        // Bluetooth is reported by the SCO state machine, the other routes are
+        // active right away.
+        if (device != AudioModeModule.DEVICE_BLUETOOTH) {
+            module.onAudioRouteChanged(device);
+        }
     }
 
     @Override
@@ -19,6 +19,7 @@ package code.videoapi.sdk;
 import android.content.Context;
 import android.media.AudioManager;
 import android.os.Build;
+import android.os.SystemClock;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
@@ -32,11 +33,8 @@ import com.facebook.react.module.annotations.ReactModule;
 import code.videoapi.sdk.log.VideoAPILogger;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Module implementing a simple API to select the appropriate audio device for a
@@ -95,10 +93,92 @@ class AudioModeModule extends ReactContextBaseJavaModule {
     private AudioDeviceHandlerInterface audioDeviceHandler;
 
     /**
-     * {@link ExecutorService} for running all audio operations on a dedicated
-     * thread.
+     * The window, in milliseconds, over which bursts of audio device changes
+     * are collapsed into a single scan and route update.
      */
-    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private static volatile long deviceChangeDebounce = 250;
+
+    /**
+     * The number of audio device changes which were collapsed into an already
+     * scheduled scan.
+     */
+    private static final AtomicLong collapsedDeviceChanges = new AtomicLong();
+
+    static long getDeviceChangeDebounce() {
+        return deviceChangeDebounce;
+    }
+
+    static void setDeviceChangeDebounce(long debounce) {
+        deviceChangeDebounce = Math.max(0, debounce);
+    }
+
+    /**
+     * The default {@link VideoAPIAudioRoutingPolicy} for both call types.
+     */
+    static final VideoAPIAudioRoutingPolicy DEFAULT_ROUTING_POLICY
+        = new VideoAPIPriorityAudioRoutingPolicy(
+            DEVICE_BLUETOOTH, DEVICE_HEADPHONES, DEVICE_SPEAKER);
+
+    private static volatile VideoAPIAudioRoutingPolicy audioCallRoutingPolicy
+        = DEFAULT_ROUTING_POLICY;
+
+    private static volatile VideoAPIAudioRoutingPolicy videoCallRoutingPolicy
+        = DEFAULT_ROUTING_POLICY;
+
+    /**
+     * How long, in milliseconds, a device must have been available before the
+     * route is switched to it away from a device which still works. Devices
+     * which come and go faster than that don't make the route flap.
+     */
+    private static volatile long routeMinDwell = 1500;
+
+    /**
+     * The number of route switches which were not made, because the device
+     * they were to wasn't available for long enough.
+     */
+    private static final AtomicLong avoidedRouteSwitches = new AtomicLong();
+
+    /**
+     * The number of route switches which were made.
+     */
+    private static final AtomicLong routeSwitches = new AtomicLong();
+
+    static void setRoutingPolicy(int mode, VideoAPIAudioRoutingPolicy policy) {
+        if (policy == null) {
+            policy = DEFAULT_ROUTING_POLICY;
+        }
+
+        switch (mode) {
+        case AUDIO_CALL:
+            audioCallRoutingPolicy = policy;
+            break;
+        case VIDEO_CALL:
+            videoCallRoutingPolicy = policy;
+            break;
+        default:
+            throw new IllegalArgumentException("Invalid audio mode " + mode);
+        }
+    }
+
+    static void setRouteMinDwell(long minDwell) {
+        routeMinDwell = Math.max(0, minDwell);
+    }
+
+    static long getAvoidedRouteSwitches() {
+        return avoidedRouteSwitches.get();
+    }
+
+    static long getRouteSwitches() {
+        return routeSwitches.get();
+    }
+
+    static long getCollapsedDeviceChanges() {
+        return collapsedDeviceChanges.get();
+    }
+
+    static void onDeviceChangeCollapsed() {
+        collapsedDeviceChanges.incrementAndGet();
+    }
 
     /**
      * Audio mode currently in use.
@@ -106,12 +186,25 @@ class AudioModeModule extends ReactContextBaseJavaModule {
     private int mode = -1;
 
     /**
-     * Audio device types.
+     * Audio device types. Each is a bit, so a set of devices is an int mask.
+     * The names are only used when talking to JavaScript.
+     */
+    static final int DEVICE_NONE       = 0;
+    static final int DEVICE_BLUETOOTH  = VideoAPIAudioRoutingPolicy.BLUETOOTH;
+    static final int DEVICE_EARPIECE   = VideoAPIAudioRoutingPolicy.EARPIECE;
+    static final int DEVICE_HEADPHONES = VideoAPIAudioRoutingPolicy.HEADPHONES;
+    static final int DEVICE_SPEAKER    = VideoAPIAudioRoutingPolicy.SPEAKER;
+
+    /**
+     * All the audio device types, in the order they are reported to
+     * JavaScript.
      */
-    static final String DEVICE_BLUETOOTH  = "BLUETOOTH";
-    static final String DEVICE_EARPIECE   = "EARPIECE";
-    static final String DEVICE_HEADPHONES = "HEADPHONES";
-    static final String DEVICE_SPEAKER    = "SPEAKER";
+    private static final int[] DEVICES = {
+        DEVICE_BLUETOOTH,
+        DEVICE_EARPIECE,
+        DEVICE_HEADPHONES,
+        DEVICE_SPEAKER
+    };
 
     /**
      * Device change event.
@@ -119,20 +212,69 @@ class AudioModeModule extends ReactContextBaseJavaModule {
     private static final String DEVICE_CHANGE_EVENT = "code.videoapi:features/audio-mode#devices-update";
 
     /**
-     * List of currently available audio devices.
+     * Mask of the currently available audio devices.
      */
-    private Set<String> availableDevices = new HashSet<>();
+    private int availableDevices = DEVICE_NONE;
+
+    /**
+     * Mask of the available devices the route couldn't be switched to, e.g.
+     * a Bluetooth headset whose SCO audio didn't connect. They are skipped
+     * until the user selects them or the available devices change.
+     */
+    private int failedDevices = DEVICE_NONE;
+
+    /**
+     * Keeps the route from flapping between devices which come and go.
+     */
+    private final AudioRouteHysteresis routeHysteresis = new AudioRouteHysteresis(
+        new AudioRouteHysteresis.Clock() {
+            @Override
+            public long elapsedRealtime() {
+                return SystemClock.elapsedRealtime();
+            }
+        },
+        new AudioRouteHysteresis.Scheduler() {
+            @Override
+            public boolean schedule(Runnable task, long delay) {
+                return runInAudioThread(task, delay);
+            }
+        },
+        avoidedRouteSwitches,
+        new Runnable() {
+            @Override
+            public void run() {
+                updateAudioRoute();
+            }
+        });
 
     /**
      * Currently selected device.
      */
-    private String selectedDevice;
+    private int selectedDevice = DEVICE_NONE;
+
+    /**
+     * User selected device. When {@link #DEVICE_NONE} the default is used
+     * depending on the mode.
+     */
+    private int userSelectedDevice = DEVICE_NONE;
+
+    /**
+     * When the pending {@code setAudioDevice} or {@code setMode} call was made,
+     * as per {@link SystemClock#elapsedRealtime()}, 0 if there is none.
+     */
+    private long routeRequestTime;
 
     /**
-     * User selected device. When null the default is used depending on the
-     * mode.
+     * Measures the audio route switches.
      */
-    private String userSelectedDevice;
+    private final AudioRouteTracer routeTracer = new AudioRouteTracer(this);
+
+    /**
+     * The devices and the selected device last reported to JavaScript, so
+     * that unchanged lists are not sent again. -1 when nothing was reported.
+     */
+    private int notifiedDevices = -1;
+    private int notifiedSelectedDevice = DEVICE_NONE;
 
     /**
      * Initializes a new module instance. There shall be a single instance of
@@ -166,28 +308,106 @@ class AudioModeModule extends ReactContextBaseJavaModule {
     }
 
     /**
-     * Notifies JS land that the devices list has changed.
+     * Gets the name of an audio device, as known to JavaScript.
+     *
+     * @param device One of the "DEVICE_" constants.
+     * @return The name of the device, {@code null} for {@link #DEVICE_NONE}.
      */
-    private void notifyDevicesChanged() {
-        runInAudioThread(new Runnable() {
-            @Override
-            public void run() {
-                WritableArray data = Arguments.createArray();
-                final boolean hasHeadphones = availableDevices.contains(DEVICE_HEADPHONES);
-                for (String device : availableDevices) {
-                    if (hasHeadphones && device.equals(DEVICE_EARPIECE)) {
-                        // Skip earpiece when headphones are plugged in.
-                        continue;
-                    }
-                    WritableMap deviceInfo = Arguments.createMap();
-                    deviceInfo.putString("type", device);
-                    deviceInfo.putBoolean("selected", device.equals(selectedDevice));
-                    data.pushMap(deviceInfo);
+    static String getDeviceName(int device) {
+        switch (device) {
+        case DEVICE_BLUETOOTH:
+            return "BLUETOOTH";
+        case DEVICE_EARPIECE:
+            return "EARPIECE";
+        case DEVICE_HEADPHONES:
+            return "HEADPHONES";
+        case DEVICE_SPEAKER:
+            return "SPEAKER";
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Gets the audio device with the given name, as known to JavaScript.
+     *
+     * @param name The name of the device.
+     * @return One of the "DEVICE_" constants, {@link #DEVICE_NONE} if the name
+     * is unknown.
+     */
+    static int getDevice(String name) {
+        if (name == null) {
+            return DEVICE_NONE;
+        }
+
+        switch (name) {
+        case "BLUETOOTH":
+            return DEVICE_BLUETOOTH;
+        case "EARPIECE":
+            return DEVICE_EARPIECE;
+        case "HEADPHONES":
+            return DEVICE_HEADPHONES;
+        case "SPEAKER":
+            return DEVICE_SPEAKER;
+        default:
+            return DEVICE_NONE;
+        }
+    }
+
+    /**
+     * Formats a mask of audio devices for logging.
+     *
+     * @param devices A mask of "DEVICE_" constants.
+     * @return The names of the devices, e.g. "[EARPIECE, SPEAKER]".
+     */
+    static String devicesToString(int devices) {
+        StringBuilder sb = new StringBuilder("[");
+
+        for (int device : DEVICES) {
+            if ((devices & device) != 0) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
                 }
-                ReactInstanceManagerHolder.emitEvent(DEVICE_CHANGE_EVENT, data);
-                VideoAPILogger.i(TAG + " Updating audio device list");
+                sb.append(getDeviceName(device));
             }
-        });
+        }
+
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Notifies JS land that the devices list has changed, if the visible
+     * devices or the selection differ from what it was last told. MUST be
+     * called on the audio thread.
+     */
+    private void notifyDevicesChanged() {
+        int devices = availableDevices;
+
+        if ((devices & DEVICE_HEADPHONES) != 0) {
+            // Skip earpiece when headphones are plugged in.
+            devices &= ~DEVICE_EARPIECE;
+        }
+
+        if (devices == notifiedDevices && selectedDevice == notifiedSelectedDevice) {
+            return;
+        }
+
+        notifiedDevices = devices;
+        notifiedSelectedDevice = selectedDevice;
+
+        WritableArray data = Arguments.createArray();
+
+        for (int device : DEVICES) {
+            if ((devices & device) != 0) {
+                WritableMap deviceInfo = Arguments.createMap();
+
+                deviceInfo.putString("type", getDeviceName(device));
+                deviceInfo.putBoolean("selected", device == selectedDevice);
+                data.pushMap(deviceInfo);
+            }
+        }
+        ReactInstanceManagerHolder.emitEventBatched(DEVICE_CHANGE_EVENT, data);
+        VideoAPILogger.i(TAG + " Updating audio device list");
     }
 
     /**
@@ -223,39 +443,68 @@ class AudioModeModule extends ReactContextBaseJavaModule {
         if (useConnectionService()) {
             audioDeviceHandler = new AudioDeviceHandlerConnectionService(audioManager);
         } else {
-            audioDeviceHandler = new AudioDeviceHandlerGeneric(audioManager);
+            audioDeviceHandler
+                = new AudioDeviceHandlerGeneric(getReactApplicationContext(), audioManager);
         }
 
         audioDeviceHandler.start(this);
     }
 
     /**
-     * Helper function to run operations on a dedicated thread.
-     * @param runnable
+     * Helper function to run operations on the audio lane of the
+     * {@link TaskScheduler}.
+     *
+     * @param runnable the operation to run.
+     * @return {@code true} if the operation was queued, which it always is as
+     * the audio lane is not bounded.
+     */
+    boolean runInAudioThread(Runnable runnable) {
+        return TaskScheduler.execute(TaskScheduler.Lane.AUDIO, runnable);
+    }
+
+    /**
+     * Helper function to run operations on the audio lane of the
+     * {@link TaskScheduler} after a delay.
+     *
+     * @param runnable the operation to run.
+     * @param delay the delay, in milliseconds.
+     * @return {@code true} if the operation was queued, which it always is as
+     * the audio lane is not bounded.
      */
-    void runInAudioThread(Runnable runnable) {
-        executor.execute(runnable);
+    boolean runInAudioThread(Runnable runnable, long delay) {
+        return TaskScheduler.schedule(TaskScheduler.Lane.AUDIO, runnable, delay);
     }
 
     /**
      * Sets the user selected audio device as the active audio device.
      *
-     * @param device the desired device which will become active.
+     * @param deviceName the name of the desired device which will become
+     * active.
      */
     @ReactMethod
-    public void setAudioDevice(final String device) {
+    public void setAudioDevice(final String deviceName) {
+        final long start = BridgeMetrics.start();
+        final long requestTime = SystemClock.elapsedRealtime();
+
         runInAudioThread(new Runnable() {
             @Override
             public void run() {
-                if (!availableDevices.contains(device)) {
-                    VideoAPILogger.w(TAG + " Audio device not available: " + device);
-                    userSelectedDevice = null;
+                BridgeMetrics.record(
+                    NAME, "setAudioDevice", BridgeMetrics.estimateSize(deviceName), start);
+
+                int device = getDevice(deviceName);
+
+                if (device == DEVICE_NONE || (availableDevices & device) == 0) {
+                    VideoAPILogger.w(TAG + " Audio device not available: " + deviceName);
+                    userSelectedDevice = DEVICE_NONE;
                     return;
                 }
 
                 if (mode != -1) {
-                    VideoAPILogger.i(TAG + " User selected device set to: " + device);
+                    VideoAPILogger.i(TAG + " User selected device set to: " + deviceName);
                     userSelectedDevice = device;
+                    failedDevices &= ~device;
+                    routeRequestTime = requestTime;
                     updateAudioRoute(mode);
                 }
             }
@@ -271,16 +520,23 @@ class AudioModeModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public void setMode(final int mode, final Promise promise) {
+        final long start = BridgeMetrics.start();
+        final long requestTime = SystemClock.elapsedRealtime();
+
         if (mode != DEFAULT && mode != AUDIO_CALL && mode != VIDEO_CALL) {
             promise.reject("setMode", "Invalid audio mode " + mode);
+            BridgeMetrics.record(NAME, "setMode", 1, start);
             return;
         }
 
-        runInAudioThread(new Runnable() {
+        boolean queued = runInAudioThread(new Runnable() {
             @Override
             public void run() {
+                BridgeMetrics.record(NAME, "setMode", 1, start);
+
                 boolean success;
 
+                routeRequestTime = requestTime;
                 try {
                     success = updateAudioRoute(mode);
                 } catch (Throwable e) {
@@ -295,6 +551,10 @@ class AudioModeModule extends ReactContextBaseJavaModule {
                 }
             }
         });
+
+        if (!queued) {
+            promise.reject("setMode", "Audio thread is busy, can't set audio mode to " + mode);
+        }
     }
 
     /**
@@ -305,9 +565,13 @@ class AudioModeModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public void setUseConnectionService(final boolean use) {
+        final long start = BridgeMetrics.start();
+
         runInAudioThread(new Runnable() {
             @Override
             public void run() {
+                BridgeMetrics.record(NAME, "setUseConnectionService", 5, start);
+
                 useConnectionService_ = use;
                 setAudioDeviceHandler();
             }
@@ -324,57 +588,117 @@ class AudioModeModule extends ReactContextBaseJavaModule {
     private boolean updateAudioRoute(int mode) {
         VideoAPILogger.i(TAG + " Update audio route for mode: " + mode);
 
+        // Switches not requested through setAudioDevice / setMode are
+        // measured from the device change which triggered them.
+        long requestTime = routeRequestTime != 0 ? routeRequestTime : SystemClock.elapsedRealtime();
+
+        routeRequestTime = 0;
+
         if (!audioDeviceHandler.setMode(mode)) {
             return false;
         }
 
         if (mode == DEFAULT) {
-            selectedDevice = null;
-            userSelectedDevice = null;
+            selectedDevice = DEVICE_NONE;
+            userSelectedDevice = DEVICE_NONE;
 
             notifyDevicesChanged();
             return true;
         }
 
-        boolean bluetoothAvailable = availableDevices.contains(DEVICE_BLUETOOTH);
-        boolean headsetAvailable = availableDevices.contains(DEVICE_HEADPHONES);
+        int usableDevices = availableDevices & ~failedDevices;
 
         // Pick the desired device based on what's available and the mode.
-        String audioDevice;
-        if (bluetoothAvailable) {
-            audioDevice = DEVICE_BLUETOOTH;
-        } else if (headsetAvailable) {
-            audioDevice = DEVICE_HEADPHONES;
-        } else {
+        VideoAPIAudioRoutingPolicy policy
+            = mode == AUDIO_CALL ? audioCallRoutingPolicy : videoCallRoutingPolicy;
+        int audioDevice = policy.selectDevice(usableDevices);
+
+        if ((usableDevices & audioDevice) == 0 || Integer.bitCount(audioDevice) != 1) {
             audioDevice = DEVICE_SPEAKER;
         }
 
         // Consider the user's selection
-        if (userSelectedDevice != null && availableDevices.contains(userSelectedDevice)) {
+        boolean userSelected = (usableDevices & userSelectedDevice) != 0;
+
+        if (userSelected) {
             audioDevice = userSelectedDevice;
         }
 
         // If the previously selected device and the current default one
         // match, do nothing.
-        if (selectedDevice != null && selectedDevice.equals(audioDevice)) {
+        if (selectedDevice == audioDevice) {
+            notifyDevicesChanged();
+            return true;
+        }
+
+        // Don't switch away from a device which still works to one which just
+        // showed up, it may be gone as fast.
+        if (!routeHysteresis.canSwitch(
+                selectedDevice, audioDevice, usableDevices, userSelected, routeMinDwell)) {
+            VideoAPILogger.d(TAG + " Not switching to " + getDeviceName(audioDevice)
+                + " yet, it is not stable");
+            notifyDevicesChanged();
             return true;
         }
 
+        routeSwitches.incrementAndGet();
         selectedDevice = audioDevice;
-        VideoAPILogger.i(TAG + " Selected audio device: " + audioDevice);
+        VideoAPILogger.i(TAG + " Selected audio device: " + getDeviceName(audioDevice));
 
+        routeTracer.onRouteRequested(audioDevice, requestTime);
         audioDeviceHandler.setAudioRoute(audioDevice);
 
         notifyDevicesChanged();
         return true;
     }
 
+    /**
+     * Notes that an audio device became the active route. Called by the
+     * {@link AudioDeviceHandlerInterface} on the audio thread, to measure how
+     * long route switches take.
+     *
+     * @param device The active device, one of the "DEVICE_" constants.
+     */
+    void onAudioRouteChanged(int device) {
+        routeTracer.onRouteChanged(device);
+    }
+
+    /**
+     * Notes that the route which was requested is already active, so no
+     * change will be reported for it. Called by the
+     * {@link AudioDeviceHandlerInterface} on the audio thread.
+     *
+     * @param device The active device, one of the "DEVICE_" constants.
+     */
+    void onAudioRouteAlreadyActive(int device) {
+        routeTracer.onRouteAlreadyActive(device);
+    }
+
+    /**
+     * Notes that the route couldn't be switched to an audio device, or that
+     * it was lost, and falls back to the next best device. Called by the
+     * {@link AudioDeviceHandlerInterface} on the audio thread.
+     *
+     * @param device The failed device, one of the "DEVICE_" constants.
+     */
+    void onAudioRouteFailed(int device) {
+        VideoAPILogger.w(TAG + " Audio route to " + getDeviceName(device) + " failed");
+        routeTracer.onRouteFailed(device);
+        failedDevices |= device;
+
+        if (selectedDevice == device) {
+            resetSelectedDevice();
+            updateAudioRoute();
+        }
+    }
+
     /**
      * Gets the currently selected audio device.
      *
-     * @return The selected audio device.
+     * @return The selected audio device, {@link #DEVICE_NONE} if there is
+     * none.
      */
-    String getSelectedDevice() {
+    int getSelectedDevice() {
         return selectedDevice;
     }
 
@@ -382,38 +706,67 @@ class AudioModeModule extends ReactContextBaseJavaModule {
      * Resets the current device selection.
      */
     void resetSelectedDevice() {
-        selectedDevice = null;
-        userSelectedDevice = null;
+        selectedDevice = DEVICE_NONE;
+        userSelectedDevice = DEVICE_NONE;
     }
 
     /**
      * Adds a new device to the list of available devices.
      *
-     * @param device The new device.
+     * @param device The new device, one of the "DEVICE_" constants.
      */
-    void addDevice(String device) {
-        availableDevices.add(device);
-        resetSelectedDevice();
+    void addDevice(int device) {
+        setAvailableDevices(availableDevices | device);
     }
 
     /**
      * Removes a device from the list of available devices.
      *
-     * @param device The old device to the removed.
+     * @param device The old device to the removed, one of the "DEVICE_"
+     * constants.
      */
-    void removeDevice(String device) {
-        availableDevices.remove(device);
-        resetSelectedDevice();
+    void removeDevice(int device) {
+        setAvailableDevices(availableDevices & ~device);
     }
 
     /**
      * Replaces the current list of available devices with a new one.
      *
-     * @param devices The new devices list.
+     * @param devices The new devices, a mask of "DEVICE_" constants.
      */
-    void replaceDevices(Set<String> devices) {
+    void replaceDevices(int devices) {
+        setAvailableDevices(devices);
+    }
+
+    /**
+     * Sets the available devices. The current route is kept if its device is
+     * still available, so that it's not switched again for nothing. The
+     * user's selection is dropped when a new device shows up, which then
+     * takes over if the routing policy prefers it.
+     *
+     * @param devices The new devices, a mask of "DEVICE_" constants.
+     */
+    private void setAvailableDevices(int devices) {
+        int addedDevices = devices & ~availableDevices;
+
+        if (devices != availableDevices) {
+            // Give the devices which failed another chance.
+            failedDevices = DEVICE_NONE;
+        }
+
+        if (addedDevices != DEVICE_NONE) {
+            routeHysteresis.onDevicesAdded(addedDevices);
+            userSelectedDevice = DEVICE_NONE;
+        }
+
         availableDevices = devices;
-        resetSelectedDevice();
+
+        if ((devices & userSelectedDevice) == 0) {
+            userSelectedDevice = DEVICE_NONE;
+        }
+        if ((devices & selectedDevice) == 0) {
+            selectedDevice = DEVICE_NONE;
+        }
     }
 
     /**
@@ -441,11 +794,14 @@ class AudioModeModule extends ReactContextBaseJavaModule {
         void stop();
 
         /**
-         * Set the appropriate route for the given audio device.
+         * Set the appropriate route for the given audio device. Once the
+         * route is active, {@link AudioModeModule#onAudioRouteChanged(int)} is to
+         * be called.
          *
-         * @param device Audio device for which the route must be set.
+         * @param device Audio device for which the route must be set, one of
+         * the "DEVICE_" constants.
          */
-        void setAudioRoute(String device);
+        void setAudioRoute(int device);
 
         /**
          * Set the given audio mode.
@@ -0,0 +1,151 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether the audio route may be switched to a device, so that
+ * devices which come and go don't make the route flap: the route isn't
+ * switched away from a device which still works to one which became available
+ * less than a minimum dwell time ago. The route is then evaluated again once
+ * the device is stable. All methods MUST be called on the audio thread.
+ */
+final class AudioRouteHysteresis {
+    /**
+     * The source of the current time, in milliseconds.
+     */
+    interface Clock {
+        long elapsedRealtime();
+    }
+
+    /**
+     * Runs a task after a delay.
+     */
+    interface Scheduler {
+        /**
+         * @param task the task.
+         * @param delay the delay in milliseconds.
+         * @return {@code true} if the task was scheduled.
+         */
+        boolean schedule(Runnable task, long delay);
+    }
+
+    private final Clock clock;
+
+    private final Scheduler scheduler;
+
+    /**
+     * Counts the switches which were not made yet.
+     */
+    private final AtomicLong avoidedSwitches;
+
+    /**
+     * When each device became available, as per the {@link #clock}, indexed
+     * by the bit of the "DEVICE_" constant.
+     */
+    private final long[] availableSince = new long[Integer.SIZE];
+
+    /**
+     * Whether the route is to be evaluated again once a device which was
+     * passed over became stable.
+     */
+    private boolean reevaluationScheduled;
+
+    private final Runnable reevaluation;
+
+    /**
+     * @param clock the source of the current time.
+     * @param scheduler schedules the evaluation of the route, once a device
+     * which was passed over became stable.
+     * @param avoidedSwitches counts the switches which were not made yet.
+     * @param updateRoute evaluates the route again.
+     */
+    AudioRouteHysteresis(
+            Clock clock,
+            Scheduler scheduler,
+            AtomicLong avoidedSwitches,
+            final Runnable updateRoute) {
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.avoidedSwitches = avoidedSwitches;
+        this.reevaluation = new Runnable() {
+            @Override
+            public void run() {
+                reevaluationScheduled = false;
+                updateRoute.run();
+            }
+        };
+    }
+
+    /**
+     * Notes that devices became available.
+     *
+     * @param devices the new devices, a mask of "DEVICE_" constants.
+     */
+    void onDevicesAdded(int devices) {
+        long now = clock.elapsedRealtime();
+
+        for (int i = 0; i < availableSince.length; i++) {
+            if ((devices & (1 << i)) != 0) {
+                availableSince[i] = now;
+            }
+        }
+    }
+
+    /**
+     * Decides whether the route may be switched to a device. If not, the
+     * switch counts as avoided and the route is evaluated again once the
+     * device is stable.
+     *
+     * @param selectedDevice the device of the current route.
+     * @param device the device to switch to.
+     * @param usableDevices the available devices which didn't fail, a mask of
+     * "DEVICE_" constants.
+     * @param userSelected whether the user selected the device, in which case
+     * the switch is always made.
+     * @param minDwell how long the device must have been available, in
+     * milliseconds.
+     * @return {@code true} if the route may be switched to the device.
+     */
+    boolean canSwitch(
+            int selectedDevice,
+            int device,
+            int usableDevices,
+            boolean userSelected,
+            long minDwell) {
+        if (userSelected || (usableDevices & selectedDevice) == 0) {
+            return true;
+        }
+
+        long stableIn
+            = availableSince[Integer.numberOfTrailingZeros(device)]
+                + minDwell
+                - clock.elapsedRealtime();
+
+        if (stableIn <= 0) {
+            return true;
+        }
+
+        avoidedSwitches.incrementAndGet();
+        if (!reevaluationScheduled) {
+            reevaluationScheduled = scheduler.schedule(reevaluation, stableIn);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import android.os.SystemClock;
+
+import code.videoapi.sdk.log.VideoAPILogger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures how long audio route switches take, from the call to
+ * {@code setAudioDevice} / {@code setMode} (or the device change which
+ * triggered the switch) until the audio device handler reports the new route
+ * as active. Switches which are not confirmed within {@link #TIMEOUT} count as
+ * failures. All methods but {@link #getLatencies()} MUST be called on the
+ * audio thread.
+ */
+final class AudioRouteTracer {
+    private static final String TAG = AudioRouteTracer.class.getSimpleName();
+
+    /**
+     * How long a route switch may take before it's deemed failed, in
+     * milliseconds.
+     */
+    static final long TIMEOUT = 5000;
+
+    /**
+     * The latencies by audio device, indexed by the bit of the "DEVICE_"
+     * constant.
+     */
+    private static final VideoAPILatencyHistogram[] latencies = new VideoAPILatencyHistogram[] {
+        new VideoAPILatencyHistogram(),
+        new VideoAPILatencyHistogram(),
+        new VideoAPILatencyHistogram(),
+        new VideoAPILatencyHistogram()
+    };
+
+    private final AudioModeModule module;
+
+    /**
+     * The device being switched to, {@link AudioModeModule#DEVICE_NONE} when
+     * no switch is pending.
+     */
+    private int pendingDevice = AudioModeModule.DEVICE_NONE;
+
+    /**
+     * When the pending switch was requested, as per
+     * {@link SystemClock#elapsedRealtime()}.
+     */
+    private long pendingStart;
+
+    /**
+     * Identifies the pending switch, so a timeout doesn't fail the switches
+     * which followed.
+     */
+    private int pendingId;
+
+    AudioRouteTracer(AudioModeModule module) {
+        this.module = module;
+    }
+
+    /**
+     * Starts measuring a route switch. A switch which is still pending is
+     * abandoned, without counting as a failure.
+     *
+     * @param device the device being switched to.
+     * @param requestTime when the switch was requested, as per
+     * {@link SystemClock#elapsedRealtime()}.
+     */
+    void onRouteRequested(final int device, long requestTime) {
+        final int id = ++pendingId;
+
+        pendingDevice = device;
+        pendingStart = requestTime;
+
+        module.runInAudioThread(new Runnable() {
+            @Override
+            public void run() {
+                if (id == pendingId && pendingDevice != AudioModeModule.DEVICE_NONE) {
+                    VideoAPILogger.w(TAG + " Audio route switch to "
+                        + AudioModeModule.getDeviceName(pendingDevice) + " timed out");
+                    getHistogram(pendingDevice).recordFailure();
+                    pendingDevice = AudioModeModule.DEVICE_NONE;
+                }
+            }
+        }, TIMEOUT);
+    }
+
+    /**
+     * Notes that a device became the active audio route, which completes the
+     * pending switch if it was to that device.
+     *
+     * @param device the active device.
+     */
+    void onRouteChanged(int device) {
+        if (device == AudioModeModule.DEVICE_NONE || device != pendingDevice) {
+            return;
+        }
+
+        long latency = SystemClock.elapsedRealtime() - pendingStart;
+
+        getHistogram(device).record(latency);
+        pendingDevice = AudioModeModule.DEVICE_NONE;
+        VideoAPILogger.i(TAG + " Audio route switched to "
+            + AudioModeModule.getDeviceName(device) + " in " + latency + "ms");
+    }
+
+    /**
+     * Notes that the device being switched to was already the active route,
+     * which completes the pending switch with no latency.
+     *
+     * @param device the active device.
+     */
+    void onRouteAlreadyActive(int device) {
+        if (device == AudioModeModule.DEVICE_NONE || device != pendingDevice) {
+            return;
+        }
+
+        getHistogram(device).record(0);
+        pendingDevice = AudioModeModule.DEVICE_NONE;
+    }
+
+    /**
+     * Notes that switching the route to a device failed, which fails the
+     * pending switch if it was to that device.
+     *
+     * @param device the failed device.
+     */
+    void onRouteFailed(int device) {
+        if (device == AudioModeModule.DEVICE_NONE || device != pendingDevice) {
+            return;
+        }
+
+        getHistogram(device).recordFailure();
+        pendingDevice = AudioModeModule.DEVICE_NONE;
+    }
+
+    /**
+     * Gets the route switch latencies by device name e.g. "BLUETOOTH".
+     *
+     * @return the latency histograms.
+     */
+    static Map<String, VideoAPILatencyHistogram> getLatencies() {
+        Map<String, VideoAPILatencyHistogram> result = new LinkedHashMap<>();
+
+        for (int i = 0; i < latencies.length; i++) {
+            result.put(AudioModeModule.getDeviceName(1 << i), latencies[i]);
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static VideoAPILatencyHistogram getHistogram(int device) {
+        return latencies[Integer.numberOfTrailingZeros(device)];
+    }
+}
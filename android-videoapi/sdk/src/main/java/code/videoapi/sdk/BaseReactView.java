@@ -28,13 +28,15 @@ import com.facebook.react.ReactRootView;
 import com.facebook.react.bridge.ReadableMap;
 import com.rnimmersive.RNImmersiveModule;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Base class for all views which are backed by a React Native view.
@@ -49,12 +51,20 @@ public abstract class BaseReactView<ListenerT>
     protected static int BACKGROUND_COLOR = 0xFF111111;
 
     /**
-     * The collection of all existing {@code BaseReactView}s. Used to find the
-     * {@code BaseReactView} when delivering events coming from
-     * {@link ExternalAPIModule}.
+     * All existing {@code BaseReactView}s by external API scope. Used to find
+     * the {@code BaseReactView} when delivering events coming from
+     * {@link ExternalAPIModule}. The views are weakly referenced so they can
+     * be garbage collected; the stale entries are purged through
+     * {@link #collectedViews}.
      */
-    static final Set<BaseReactView> views
-        = Collections.newSetFromMap(new WeakHashMap<BaseReactView, Boolean>());
+    private static final ConcurrentHashMap<String, ViewReference> views
+        = new ConcurrentHashMap<>();
+
+    /**
+     * The references in {@link #views} whose view was garbage collected.
+     */
+    private static final ReferenceQueue<BaseReactView> collectedViews
+        = new ReferenceQueue<>();
 
     /**
      * Finds a {@code BaseReactView} which matches a specific external API
@@ -67,15 +77,32 @@ public abstract class BaseReactView<ListenerT>
      */
     public static BaseReactView findViewByExternalAPIScope(
             String externalAPIScope) {
-        synchronized (views) {
-            for (BaseReactView view : views) {
-                if (view.externalAPIScope.equals(externalAPIScope)) {
-                    return view;
-                }
+        if (externalAPIScope == null) {
+            return null;
+        }
+
+        ViewReference ref = views.get(externalAPIScope);
+
+        return ref != null ? ref.get() : null;
+    }
+
+    /**
+     * Tells whether any {@code BaseReactView} currently has a
+     * {@link ReactRootView} i.e. uses the React Native instance.
+     *
+     * @return {@code true} if a React root view exists; {@code false},
+     * otherwise.
+     */
+    static boolean hasReactRootViews() {
+        for (ViewReference ref : views.values()) {
+            BaseReactView view = ref.get();
+
+            if (view != null && view.reactRootView != null) {
+                return true;
             }
         }
 
-        return null;
+        return false;
     }
 
     /**
@@ -84,7 +111,35 @@ public abstract class BaseReactView<ListenerT>
      * @return An {@link ArrayList} containing all views currently held by React.
      */
     static ArrayList<BaseReactView> getViews() {
-        return new ArrayList<>(views);
+        ArrayList<BaseReactView> result = new ArrayList<>(views.size());
+
+        for (ViewReference ref : views.values()) {
+            BaseReactView view = ref.get();
+
+            if (view != null) {
+                result.add(view);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Registers a {@code BaseReactView} under its external API scope, dropping
+     * the entries of the views which were garbage collected meanwhile.
+     *
+     * @param view - The {@code BaseReactView} to register.
+     */
+    private static void registerView(BaseReactView view) {
+        Reference<? extends BaseReactView> ref;
+
+        while ((ref = collectedViews.poll()) != null) {
+            views.remove(((ViewReference) ref).externalAPIScope, ref);
+        }
+
+        views.put(
+            view.externalAPIScope,
+            new ViewReference(view, collectedViews));
     }
 
     /**
@@ -99,25 +154,40 @@ public abstract class BaseReactView<ListenerT>
      * The listener (e.g. {@link VideoAPIViewListener}) instance for reporting
      * events occurring in VideoAPI.
      */
-    private ListenerT listener;
+    private volatile ListenerT listener;
 
     /**
      * React Native root view.
      */
     private ReactRootView reactRootView;
 
+    /**
+     * The name of the app running in {@link #reactRootView}.
+     */
+    private String appName;
+
+    /**
+     * The props the app running in {@link #reactRootView} was last given.
+     */
+    private Bundle props;
+
+    /**
+     * Delivers the events to {@link #listener}.
+     */
+    private final ListenerEventQueue<ListenerT> eventQueue;
+
     public BaseReactView(@NonNull Context context) {
         super(context);
 
         setBackgroundColor(BACKGROUND_COLOR);
 
+        eventQueue = new ListenerEventQueue<>(this);
+
         ReactInstanceManagerHolder.initReactInstanceManager((Activity)context);
 
         // Hook this BaseReactView into ExternalAPI.
         externalAPIScope = UUID.randomUUID().toString();
-        synchronized (views) {
-            views.add(this);
-        }
+        registerView(this);
     }
 
     /**
@@ -133,15 +203,28 @@ public abstract class BaseReactView<ListenerT>
         }
 
         props.putString("externalAPIScope", externalAPIScope);
+        putSubscribedEvents(props);
+        this.props = props;
 
         if (reactRootView == null) {
-            reactRootView = new ReactRootView(getContext());
-            reactRootView.startReactApplication(
-                ReactInstanceManagerHolder.getReactInstanceManager(),
-                appName,
-                props);
-            reactRootView.setBackgroundColor(BACKGROUND_COLOR);
+            StartupTrace.begin(VideoAPIStartupMetrics.CREATE_REACT_ROOT_VIEW);
+            this.appName = appName;
+
+            // Reuse an already mounted app if there's one.
+            reactRootView = ReactRootViewPool.acquire(getContext(), appName);
+
+            if (reactRootView != null) {
+                reactRootView.setAppProperties(props);
+            } else {
+                reactRootView = ReactRootViewPool.create(getContext());
+                reactRootView.startReactApplication(
+                    ReactInstanceManagerHolder.getReactInstanceManager(),
+                    appName,
+                    props);
+                reactRootView.setBackgroundColor(BACKGROUND_COLOR);
+            }
             addView(reactRootView);
+            StartupTrace.end(VideoAPIStartupMetrics.CREATE_REACT_ROOT_VIEW);
         } else {
             reactRootView.setAppProperties(props);
         }
@@ -149,7 +232,9 @@ public abstract class BaseReactView<ListenerT>
 
     /**
      * Releases the React resources (specifically the {@link ReactRootView})
-     * associated with this view.
+     * associated with this view. If root view reuse is enabled through
+     * {@link VideoAPI#setReactRootViewReuseEnabled(boolean)} the app is kept
+     * mounted for a while instead.
      *
      * MUST be called when the {@link Activity} holding this view is destroyed,
      * typically in the {@code onDestroy} method.
@@ -157,11 +242,26 @@ public abstract class BaseReactView<ListenerT>
     public void dispose() {
         if (reactRootView != null) {
             removeView(reactRootView);
-            reactRootView.unmountReactApplication();
+            if (!canRecycleReactRootView()
+                    || !ReactRootViewPool.release(reactRootView, appName)) {
+                reactRootView.unmountReactApplication();
+            }
             reactRootView = null;
         }
     }
 
+    /**
+     * Tells whether the app running in this view is idle, so its
+     * {@link ReactRootView} may be kept mounted for reuse by another
+     * {@code BaseReactView} when this one is disposed.
+     *
+     * @return {@code true} if the {@link ReactRootView} may be reused;
+     * {@code false}, otherwise.
+     */
+    protected boolean canRecycleReactRootView() {
+        return true;
+    }
+
     /**
      * Gets the listener set on this {@code BaseReactView}.
      *
@@ -181,6 +281,25 @@ public abstract class BaseReactView<ListenerT>
      */
     protected abstract void onExternalAPIEvent(String name, ReadableMap data);
 
+    /**
+     * Delivers an {@link ExternalAPIModule} event to the listener set on this
+     * view, if any, without reflection. The events are delivered in batches,
+     * see {@link #setListenerExecutor(Executor)}.
+     *
+     * @param dispatcher - Calls the listener method matching the event.
+     * @param name - The name of the event.
+     * @param data - The details of the event associated with/specific to the
+     * specified {@code name}.
+     */
+    protected void onExternalAPIEvent(
+            ListenerDispatcher<ListenerT> dispatcher,
+            String name, ReadableMap data) {
+        if (getListener() != null && dispatcher.canDispatch(name)) {
+            eventQueue.enqueue(
+                dispatcher, name, ListenerUtils.toEventData(data));
+        }
+    }
+
     protected void onExternalAPIEvent(
             Map<String, Method> listenerMethods,
             String name, ReadableMap data) {
@@ -211,11 +330,98 @@ public abstract class BaseReactView<ListenerT>
     }
 
     /**
-     * Sets a specific listener on this {@code BaseReactView}.
+     * Gets the names of the events the listener of this view handles, so the
+     * other events aren't sent from JavaScript at all.
+     *
+     * @return The names of the events to send or {@code null} to send all of
+     * them.
+     */
+    @Nullable
+    protected ArrayList<String> getSubscribedEvents() {
+        return null;
+    }
+
+    /**
+     * Tells the app running in this view, if any, that the result of
+     * {@link #getSubscribedEvents()} changed. MUST be called on the UI thread.
+     */
+    protected void updateSubscribedEvents() {
+        if (reactRootView != null && props != null) {
+            props = new Bundle(props);
+            putSubscribedEvents(props);
+            reactRootView.setAppProperties(props);
+        }
+    }
+
+    /**
+     * Puts the events to send from JavaScript in the props of the app.
+     *
+     * @param props - The React Component props to pass to the app.
+     */
+    private void putSubscribedEvents(Bundle props) {
+        ArrayList<String> events = getSubscribedEvents();
+
+        if (events != null) {
+            props.putStringArrayList("externalAPIEvents", events);
+        } else {
+            props.remove("externalAPIEvents");
+        }
+    }
+
+    /**
+     * Sets whether events which are superseded by a later event, before they
+     * are delivered, are dropped. For example, only the last
+     * "RAISE_HAND_UPDATED" of each participant is delivered. Disabled by
+     * default.
+     *
+     * @param enabled {@code true} to coalesce superseded events.
+     */
+    public void setEventCoalescingEnabled(boolean enabled) {
+        eventQueue.setCoalescingEnabled(enabled);
+    }
+
+    /**
+     * Sets the {@link Executor} on which the listener is called. By default
+     * the listener is called on the UI thread, once per frame, with all the
+     * events received since the previous frame.
+     *
+     * @param executor The {@link Executor} to call the listener on or
+     * {@code null} to call it on the UI thread.
+     */
+    public void setListenerExecutor(@Nullable Executor executor) {
+        eventQueue.setExecutor(executor);
+    }
+
+    /**
+     * Sets a specific listener on this {@code BaseReactView}. If the listener
+     * also implements {@link VideoAPIBatchedListener} it receives the events
+     * in batches instead of through its methods.
      *
      * @param listener The listener to set on this {@code BaseReactView}.
      */
     public void setListener(ListenerT listener) {
         this.listener = listener;
+
+        // The events the app sends depend on the listener.
+        updateSubscribedEvents();
+    }
+
+    /**
+     * Weak reference to a {@code BaseReactView} which remembers its external
+     * API scope, so the entry can be removed from {@link #views} once the view
+     * is garbage collected.
+     */
+    private static final class ViewReference
+        extends WeakReference<BaseReactView> {
+
+        final String externalAPIScope;
+
+        ViewReference(
+                BaseReactView view,
+                ReferenceQueue<? super BaseReactView> queue) {
+            super(view, queue);
+
+            externalAPIScope = view.externalAPIScope;
+        }
     }
 }
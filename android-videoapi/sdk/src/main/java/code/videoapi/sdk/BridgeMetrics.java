@@ -0,0 +1,247 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+
+import code.videoapi.sdk.log.VideoAPILogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the calls and events crossing the React Native bridge through the
+ * SDK's native modules. Disabled by default: estimating the payload sizes
+ * walks the maps and arrays, which allocates on the hot path. Once enabled,
+ * the counters themselves don't allocate after a method was first seen.
+ */
+final class BridgeMetrics {
+    private static final String TAG = BridgeMetrics.class.getSimpleName();
+
+    private static volatile boolean enabled;
+
+    /**
+     * The counters by module and method.
+     */
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<String, Counter>> counters
+        = new ConcurrentHashMap<>();
+
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+
+    private static long logInterval;
+
+    private static final Runnable logMetrics = new Runnable() {
+        @Override
+        public void run() {
+            VideoAPILogger.i(TAG + " " + getMetrics());
+            if (logInterval > 0) {
+                handler.postDelayed(this, logInterval);
+            }
+        }
+    };
+
+    private BridgeMetrics() {
+    }
+
+    static void setEnabled(boolean enabled) {
+        BridgeMetrics.enabled = enabled;
+    }
+
+    /**
+     * Sets the interval at which the metrics are logged.
+     *
+     * @param interval the interval in milliseconds, 0 to stop logging.
+     */
+    static synchronized void setLogInterval(long interval) {
+        logInterval = interval;
+        handler.removeCallbacks(logMetrics);
+        if (interval > 0) {
+            handler.postDelayed(logMetrics, interval);
+        }
+    }
+
+    /**
+     * Gets the start time of a call, to pass to
+     * {@link #record(String, String, long, long)}.
+     *
+     * @return the start time in nanoseconds, 0 if disabled.
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a call or an event.
+     *
+     * @param module the name of the module.
+     * @param method the name of the method or event.
+     * @param payloadSize the estimated size of the arguments or data.
+     * @param start the value returned by {@link #start()} when the call began.
+     */
+    static void record(String module, String method, long payloadSize, long start) {
+        if (!enabled || start == 0) {
+            return;
+        }
+
+        getCounter(module, method).record(payloadSize, System.nanoTime() - start);
+    }
+
+    /**
+     * Estimates the size of a payload, in characters of JSON.
+     *
+     * @param data a {@code null}, {@link Boolean}, {@link Number},
+     * {@link String}, {@link ReadableMap} or {@link ReadableArray}.
+     * @return the estimated size, 0 if disabled.
+     */
+    static long estimateSize(@Nullable Object data) {
+        return enabled ? doEstimateSize(data) : 0;
+    }
+
+    static VideoAPIBridgeMetrics getMetrics() {
+        List<VideoAPIBridgeMetrics.Entry> entries = new ArrayList<>();
+
+        for (Map.Entry<String, ConcurrentHashMap<String, Counter>> module : counters.entrySet()) {
+            for (Map.Entry<String, Counter> method : module.getValue().entrySet()) {
+                Counter counter = method.getValue();
+
+                entries.add(
+                    new VideoAPIBridgeMetrics.Entry(
+                        module.getKey(),
+                        method.getKey(),
+                        counter.calls.get(),
+                        counter.payloadSize.get(),
+                        TimeUnit.NANOSECONDS.toMicros(counter.totalTime.get()),
+                        TimeUnit.NANOSECONDS.toMicros(counter.maxTime.get())));
+            }
+        }
+
+        return new VideoAPIBridgeMetrics(entries);
+    }
+
+    private static Counter getCounter(String module, String method) {
+        ConcurrentHashMap<String, Counter> methods = counters.get(module);
+
+        if (methods == null) {
+            ConcurrentHashMap<String, Counter> newMethods = new ConcurrentHashMap<>();
+
+            methods = counters.putIfAbsent(module, newMethods);
+            if (methods == null) {
+                methods = newMethods;
+            }
+        }
+
+        Counter counter = methods.get(method);
+
+        if (counter == null) {
+            Counter newCounter = new Counter();
+
+            counter = methods.putIfAbsent(method, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+
+        return counter;
+    }
+
+    private static long doEstimateSize(@Nullable Object data) {
+        if (data instanceof String) {
+            return ((String) data).length() + 2;
+        }
+        if (data instanceof ReadableMap) {
+            ReadableMap map = (ReadableMap) data;
+            long size = 2;
+
+            for (ReadableMapKeySetIterator i = map.keySetIterator(); i.hasNextKey();) {
+                String key = i.nextKey();
+
+                size += key.length() + 4;
+                switch (map.getType(key)) {
+                case Map:
+                    size += doEstimateSize(map.getMap(key));
+                    break;
+                case Array:
+                    size += doEstimateSize(map.getArray(key));
+                    break;
+                case String:
+                    size += doEstimateSize(map.getString(key));
+                    break;
+                default:
+                    size += 5;
+                    break;
+                }
+            }
+
+            return size;
+        }
+        if (data instanceof ReadableArray) {
+            ReadableArray array = (ReadableArray) data;
+            long size = 2;
+
+            for (int i = 0; i < array.size(); i++) {
+                switch (array.getType(i)) {
+                case Map:
+                    size += doEstimateSize(array.getMap(i)) + 1;
+                    break;
+                case Array:
+                    size += doEstimateSize(array.getArray(i)) + 1;
+                    break;
+                case String:
+                    size += doEstimateSize(array.getString(i)) + 1;
+                    break;
+                default:
+                    size += 6;
+                    break;
+                }
+            }
+
+            return size;
+        }
+
+        return data == null ? 4 : String.valueOf(data).length();
+    }
+
+    private static final class Counter {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong payloadSize = new AtomicLong();
+        final AtomicLong totalTime = new AtomicLong();
+        final AtomicLong maxTime = new AtomicLong();
+
+        void record(long payloadSize, long time) {
+            calls.incrementAndGet();
+            this.payloadSize.addAndGet(payloadSize);
+            totalTime.addAndGet(time);
+
+            long max;
+
+            while (time > (max = maxTime.get()) && !maxTime.compareAndSet(max, time)) {
+                // Retry.
+            }
+        }
+    }
+}
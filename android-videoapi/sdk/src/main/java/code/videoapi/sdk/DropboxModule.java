@@ -121,17 +121,22 @@ class DropboxModule
      */
     @ReactMethod
     public void getDisplayName(final String token, final Promise promise) {
-        DbxRequestConfig config = DbxRequestConfig.newBuilder(clientId).build();
-        DbxClientV2 client = new DbxClientV2(config, token);
-
-        // Get current account info
-        try {
-            FullAccount account = client.users().getCurrentAccount();
-
-            promise.resolve(account.getName().getDisplayName());
-        } catch (DbxException e) {
-            promise.reject(e);
-        }
+        runRequest(promise, new Runnable() {
+            @Override
+            public void run() {
+                DbxRequestConfig config = DbxRequestConfig.newBuilder(clientId).build();
+                DbxClientV2 client = new DbxClientV2(config, token);
+
+                // Get current account info
+                try {
+                    FullAccount account = client.users().getCurrentAccount();
+
+                    promise.resolve(account.getName().getDisplayName());
+                } catch (DbxException e) {
+                    promise.reject(e);
+                }
+            }
+        });
     }
 
     @Override
@@ -147,29 +152,47 @@ class DropboxModule
      */
     @ReactMethod
     public void getSpaceUsage(final String token, final Promise promise) {
-        DbxRequestConfig config = DbxRequestConfig.newBuilder(clientId).build();
-        DbxClientV2 client = new DbxClientV2(config, token);
-
-        try {
-            SpaceUsage spaceUsage = client.users().getSpaceUsage();
-            WritableMap map = Arguments.createMap();
-
-            map.putString("used", String.valueOf(spaceUsage.getUsed()));
-
-            SpaceAllocation allocation = spaceUsage.getAllocation();
-            long allocated = 0;
-
-            if (allocation.isIndividual()) {
-                allocated += allocation.getIndividualValue().getAllocated();
+        runRequest(promise, new Runnable() {
+            @Override
+            public void run() {
+                DbxRequestConfig config = DbxRequestConfig.newBuilder(clientId).build();
+                DbxClientV2 client = new DbxClientV2(config, token);
+
+                try {
+                    SpaceUsage spaceUsage = client.users().getSpaceUsage();
+                    WritableMap map = Arguments.createMap();
+
+                    map.putString("used", String.valueOf(spaceUsage.getUsed()));
+
+                    SpaceAllocation allocation = spaceUsage.getAllocation();
+                    long allocated = 0;
+
+                    if (allocation.isIndividual()) {
+                        allocated += allocation.getIndividualValue().getAllocated();
+                    }
+                    if (allocation.isTeam()) {
+                        allocated += allocation.getTeamValue().getAllocated();
+                    }
+                    map.putString("allocated", String.valueOf(allocated));
+
+                    promise.resolve(map);
+                } catch (DbxException e) {
+                    promise.reject(e);
+                }
             }
-            if (allocation.isTeam()) {
-                allocated += allocation.getTeamValue().getAllocated();
-            }
-            map.putString("allocated", String.valueOf(allocated));
+        });
+    }
 
-            promise.resolve(map);
-        } catch (DbxException e) {
-            promise.reject(e);
+    /**
+     * Runs a blocking Dropbox request on the network lane of the
+     * {@link TaskScheduler}, so it doesn't hold the bridge thread.
+     *
+     * @param promise The promise of the request, rejected if the lane is full.
+     * @param request The request.
+     */
+    private static void runRequest(Promise promise, Runnable request) {
+        if (!TaskScheduler.execute(TaskScheduler.Lane.NETWORK, request)) {
+            promise.reject(new Exception("Too many pending Dropbox requests."));
         }
     }
 
@@ -35,6 +35,10 @@ class ExternalAPIModule
 
     private static final String TAG = NAME;
 
+    private static final String CONFERENCE_JOINED = "CONFERENCE_JOINED";
+
+    private static final String CONFERENCE_WILL_JOIN = "CONFERENCE_WILL_JOIN";
+
     /**
      * Initializes a new module instance. There shall be a single instance of
      * this module throughout the lifetime of the app.
@@ -58,7 +62,8 @@ class ExternalAPIModule
 
     /**
      * Dispatches an event that occurred on the JavaScript side of the SDK to
-     * the specified {@link BaseReactView}'s listener.
+     * the specified {@link BaseReactView}'s listener. The traffic is reported
+     * per event name in {@link VideoAPIBridgeMetrics}.
      *
      * @param name The name of the event.
      * @param data The details/specifics of the event to send determined
@@ -67,8 +72,21 @@ class ExternalAPIModule
      */
     @ReactMethod
     public void sendEvent(String name, ReadableMap data, String scope) {
+        long start = BridgeMetrics.start();
+
         // Keep track of the current ongoing conference.
-        OngoingConferenceTracker.getInstance().onExternalAPIEvent(name, data);
+        OngoingConferenceTracker.getInstance().onExternalAPIEvent(name, data, scope);
+
+        if (CONFERENCE_WILL_JOIN.equals(name)) {
+            StartupTrace.mark(VideoAPIStartupMetrics.CONFERENCE_WILL_JOIN);
+        } else if (CONFERENCE_JOINED.equals(name)) {
+            StartupTrace.mark(VideoAPIStartupMetrics.CONFERENCE_JOINED);
+
+            // By the time a conference is joined all the native modules needed
+            // for it have been created, report which ones were not.
+            NativeModuleTimings.log();
+            VideoAPILogger.i(TAG + " " + StartupTrace.getMetrics());
+        }
 
         // The JavaScript App needs to provide uniquely identifying information
         // to the native ExternalAPI module so that the latter may match the
@@ -83,5 +101,7 @@ class ExternalAPIModule
                 VideoAPILogger.e(e, TAG + " onExternalAPIEvent: error sending event");
             }
         }
+
+        BridgeMetrics.record(NAME, name, BridgeMetrics.estimateSize(data), start);
     }
 }
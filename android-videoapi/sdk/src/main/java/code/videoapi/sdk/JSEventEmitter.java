@@ -0,0 +1,349 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.ReactInstanceManager;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends events to JavaScript through {@code RCTDeviceEventEmitter}. The
+ * emitter of the current React context is cached, and is replaced when the
+ * context is recreated.
+ *
+ * Events which aren't urgent can be batched: all the events emitted within
+ * {@link #BATCH_DELAY} are sent to JavaScript in a single call, as a
+ * {@link #BATCHED_EVENTS} event which react/features/videoapi/bridge.js
+ * re-emits one by one, so the JavaScript listeners see no difference.
+ */
+final class JSEventEmitter {
+    /**
+     * The name of the event carrying a batch of events. Its data is an array
+     * of {@code { name, data }} objects.
+     */
+    static final String BATCHED_EVENTS = "code.videoapi:batched-events";
+
+    /**
+     * How long batched events wait for the ones emitted after them, in
+     * milliseconds. About a frame, but unlike a frame callback it doesn't
+     * need vsync, so the events flow while the screen is off.
+     */
+    static final long BATCH_DELAY = 16;
+
+    /**
+     * The React context whose emitter is cached.
+     */
+    @Nullable
+    private static volatile ReactContext reactContext;
+
+    @Nullable
+    private static volatile DeviceEventManagerModule.RCTDeviceEventEmitter emitter;
+
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+
+    private static final Object lock = new Object();
+
+    /**
+     * Held while events are sent, so a flush on the UI thread and an
+     * {@link #emit} on another thread don't interleave their events.
+     */
+    private static final Object sendLock = new Object();
+
+    /**
+     * The events waiting to be sent, guarded by {@link #lock}.
+     */
+    private static ArrayList<Object[]> pending = new ArrayList<>();
+
+    /**
+     * Whether a flush is scheduled, guarded by {@link #lock}.
+     */
+    private static boolean scheduled;
+
+    private static final AtomicLong eventCount = new AtomicLong();
+
+    private static final AtomicLong bridgeCallCount = new AtomicLong();
+
+    private static final AtomicLong payloadSize = new AtomicLong();
+
+    private static final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (sendLock) {
+                flush();
+            }
+        }
+    };
+
+    private JSEventEmitter() {
+    }
+
+    /**
+     * Caches the emitter of a new React context. MUST be called on the UI
+     * thread when the context is initialized.
+     *
+     * @param context the new {@link ReactContext}.
+     */
+    static void onReactContextInitialized(ReactContext context) {
+        UiThreadUtil.assertOnUiThread();
+
+        emitter = context.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class);
+        reactContext = context;
+
+        // Send the events which were batched before the context was ready.
+        boolean schedule;
+
+        synchronized (lock) {
+            schedule = !pending.isEmpty() && !scheduled;
+            scheduled |= schedule;
+        }
+
+        if (schedule) {
+            handler.post(flushRunnable);
+        }
+    }
+
+    /**
+     * Drops the cached emitter and the pending events, because the React
+     * context is going away.
+     */
+    static void clear() {
+        reactContext = null;
+        emitter = null;
+
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Sends an event to JavaScript right away. The batched events emitted
+     * before are sent first, so the order is preserved.
+     *
+     * @param eventName {@code String} containing the event name.
+     * @param data {@code Object} optional ancillary data for the event.
+     */
+    static void emit(String eventName, @Nullable Object data) {
+        synchronized (sendLock) {
+            flush();
+
+            DeviceEventManagerModule.RCTDeviceEventEmitter emitter = getEmitter();
+
+            if (emitter != null) {
+                long start = BridgeMetrics.start();
+                long size = count(data);
+
+                bridgeCallCount.incrementAndGet();
+                emitter.emit(eventName, data);
+                BridgeMetrics.record(
+                    VideoAPIBridgeMetrics.EVENT_EMITTER, eventName, size, start);
+            }
+        }
+    }
+
+    /**
+     * Queues an event to be sent to JavaScript with the other events emitted
+     * within {@link #BATCH_DELAY}, or until the React context is ready.
+     *
+     * @param eventName {@code String} containing the event name.
+     * @param data {@code Object} optional ancillary data for the event: a
+     * {@code null}, {@link Boolean}, {@link Number}, {@link String},
+     * {@link ReadableMap} or {@link ReadableArray}. Maps and arrays which are
+     * not writable are copied.
+     * @throws IllegalArgumentException if the data is of another type.
+     */
+    static void emitBatched(String eventName, @Nullable Object data) {
+        // Check the data here, the batch is built on the UI thread where an
+        // exception would be fatal.
+        data = toBatchableData(data);
+
+        boolean schedule;
+
+        synchronized (lock) {
+            pending.add(new Object[] { eventName, data });
+            schedule = !scheduled;
+            scheduled = true;
+        }
+
+        if (schedule) {
+            handler.postDelayed(flushRunnable, BATCH_DELAY);
+        }
+    }
+
+    /**
+     * Sends the pending batched events, if any, in a single call. MUST be
+     * called while holding {@link #sendLock}.
+     */
+    private static void flush() {
+        ArrayList<Object[]> events;
+
+        synchronized (lock) {
+            scheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            events = pending;
+            pending = new ArrayList<>();
+        }
+
+        DeviceEventManagerModule.RCTDeviceEventEmitter emitter = getEmitter();
+
+        if (emitter == null) {
+            // Keep the events, in order, until the context is ready.
+            synchronized (lock) {
+                events.addAll(pending);
+                pending = events;
+            }
+            return;
+        }
+
+        WritableArray batch = Arguments.createArray();
+
+        // Each event is recorded once, under its own name, with the time spent
+        // adding it to the batch. The single bridge call is not recorded
+        // separately.
+        for (Object[] event : events) {
+            long start = BridgeMetrics.start();
+            WritableMap map = Arguments.createMap();
+            String name = (String) event[0];
+            long size = count(event[1]);
+
+            map.putString("name", name);
+            putData(map, event[1]);
+            batch.pushMap(map);
+            BridgeMetrics.record(VideoAPIBridgeMetrics.EVENT_EMITTER, name, size, start);
+        }
+
+        bridgeCallCount.incrementAndGet();
+        emitter.emit(BATCHED_EVENTS, batch);
+    }
+
+    /**
+     * Checks the data of a batched event, copying the maps and arrays which
+     * are not writable and thus couldn't be put in the batch.
+     *
+     * @param data the data of the event.
+     * @return the data to put in the batch.
+     * @throws IllegalArgumentException if the data is of an unsupported type.
+     */
+    @Nullable
+    private static Object toBatchableData(@Nullable Object data) {
+        if (data == null
+                || data instanceof Boolean
+                || data instanceof Number
+                || data instanceof String
+                || data instanceof WritableMap
+                || data instanceof WritableArray) {
+            return data;
+        }
+        if (data instanceof ReadableMap) {
+            return Arguments.makeNativeMap(((ReadableMap) data).toHashMap());
+        }
+        if (data instanceof ReadableArray) {
+            return Arguments.makeNativeArray(((ReadableArray) data).toArrayList());
+        }
+
+        throw new IllegalArgumentException("Unsupported event data type " + data.getClass());
+    }
+
+    /**
+     * Gets the emitter of the current React context, refreshing the cache if
+     * the context changed.
+     */
+    @Nullable
+    private static DeviceEventManagerModule.RCTDeviceEventEmitter getEmitter() {
+        ReactInstanceManager reactInstanceManager
+            = ReactInstanceManagerHolder.getReactInstanceManager();
+        ReactContext context
+            = reactInstanceManager != null
+                ? reactInstanceManager.getCurrentReactContext()
+                : null;
+
+        if (context == null) {
+            return null;
+        }
+        if (context != reactContext) {
+            // The context was recreated and we weren't told yet.
+            emitter = context.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class);
+            reactContext = context;
+        }
+
+        return emitter;
+    }
+
+    private static void putData(WritableMap map, @Nullable Object data) {
+        if (data == null) {
+            map.putNull("data");
+        } else if (data instanceof Boolean) {
+            map.putBoolean("data", (Boolean) data);
+        } else if (data instanceof Integer) {
+            map.putInt("data", (Integer) data);
+        } else if (data instanceof Number) {
+            map.putDouble("data", ((Number) data).doubleValue());
+        } else if (data instanceof String) {
+            map.putString("data", (String) data);
+        } else if (data instanceof WritableMap) {
+            map.putMap("data", (WritableMap) data);
+        } else if (data instanceof WritableArray) {
+            map.putArray("data", (WritableArray) data);
+        } else {
+            throw new IllegalArgumentException(
+                "Unsupported event data type " + data.getClass());
+        }
+    }
+
+    /**
+     * Counts an event and the estimated size of its data, in characters of
+     * JSON. The size is 0 unless the {@link BridgeMetrics} are enabled, it's
+     * not worth walking the data otherwise.
+     *
+     * @return the estimated size of the data.
+     */
+    private static long count(@Nullable Object data) {
+        long size = BridgeMetrics.estimateSize(data);
+
+        eventCount.incrementAndGet();
+        payloadSize.addAndGet(size);
+
+        return size;
+    }
+
+    static long getEventCount() {
+        return eventCount.get();
+    }
+
+    static long getBridgeCallCount() {
+        return bridgeCallCount.get();
+    }
+
+    static long getPayloadSize() {
+        return payloadSize.get();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.Map;
+
+/**
+ * Delivers {@link ExternalAPIModule} events to a listener by calling its
+ * methods directly, without reflection. Used with descendants of
+ * {@link BaseReactView} instead of {@link ListenerUtils#mapListenerMethods}.
+ *
+ * @param <ListenerT> - The listener type e.g. {@link VideoAPIViewListener}.
+ */
+public interface ListenerDispatcher<ListenerT> {
+    /**
+     * Tells whether the listener has a method for a specific event, so the
+     * events which aren't listened to are dropped before their data is
+     * converted.
+     *
+     * @param eventName - Name of the event i.e. redux action type.
+     * @return {@code true} if the event is dispatched to the listener;
+     * {@code false}, otherwise.
+     */
+    boolean canDispatch(String eventName);
+
+    /**
+     * Calls the listener method matching a specific event.
+     *
+     * @param listener - The listener on which the method will be called.
+     * @param eventName - Name of the event i.e. redux action type.
+     * @param eventData - Data associated with the event.
+     */
+    void dispatch(ListenerT listener, String eventName, Map<String, Object> eventData);
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Queue delivering the events of a {@link BaseReactView} to its listener in
+ * batches: all the events received before the UI thread gets to them are
+ * delivered together, instead of posting one {@code Runnable} per event. The
+ * events can be delivered on another {@link Executor} instead. Either way a
+ * single delivery runs at a time, so the listener gets the events in order.
+ *
+ * @param <ListenerT> - The listener type.
+ */
+final class ListenerEventQueue<ListenerT> implements Runnable {
+
+    private final BaseReactView<ListenerT> view;
+
+    /**
+     * {@link Handler} of the UI thread. Unlike frame callbacks, its messages
+     * run without vsync too, e.g. when the screen is off.
+     */
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private final Object lock = new Object();
+
+    /**
+     * The events waiting to be delivered, guarded by {@link #lock}.
+     */
+    private ArrayList<VideoAPIEvent> pending = new ArrayList<>();
+
+    /**
+     * The index in {@link #pending} of the events by coalescing key, guarded
+     * by {@link #lock}.
+     */
+    private final HashMap<String, Integer> pendingByKey = new HashMap<>();
+
+    /**
+     * Whether a delivery is scheduled or running, guarded by {@link #lock}.
+     */
+    private boolean scheduled;
+
+    private ListenerDispatcher<ListenerT> dispatcher;
+
+    private volatile boolean coalescingEnabled;
+
+    @Nullable
+    private volatile Executor executor;
+
+    /**
+     * @param view the {@link BaseReactView} whose listener gets the events.
+     */
+    ListenerEventQueue(BaseReactView<ListenerT> view) {
+        this.view = view;
+    }
+
+    void setCoalescingEnabled(boolean enabled) {
+        coalescingEnabled = enabled;
+    }
+
+    void setExecutor(@Nullable Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Queues an event for delivery. Can be called on any thread.
+     *
+     * @param dispatcher - Calls the listener method matching the event.
+     * @param name - The name of the event.
+     * @param data - The data of the event.
+     */
+    void enqueue(
+            ListenerDispatcher<ListenerT> dispatcher,
+            String name,
+            Map<String, Object> data) {
+        VideoAPIEvent event = new VideoAPIEvent(name, data);
+        boolean schedule;
+
+        synchronized (lock) {
+            this.dispatcher = dispatcher;
+
+            Integer index
+                = coalescingEnabled && event.coalescingKey != null
+                    ? pendingByKey.get(event.coalescingKey)
+                    : null;
+
+            if (index != null) {
+                // Drop the stale event and queue the new one last, so it
+                // doesn't overtake the events queued in between.
+                pending.remove((int) index);
+                for (Map.Entry<String, Integer> entry : pendingByKey.entrySet()) {
+                    if (entry.getValue() > index) {
+                        entry.setValue(entry.getValue() - 1);
+                    }
+                }
+            }
+            if (event.coalescingKey != null) {
+                pendingByKey.put(event.coalescingKey, pending.size());
+            }
+            pending.add(event);
+
+            schedule = !scheduled;
+            scheduled = true;
+        }
+
+        if (schedule) {
+            Executor executor = this.executor;
+
+            if (executor != null) {
+                executor.execute(this);
+            } else {
+                handler.post(this);
+            }
+        }
+    }
+
+    /**
+     * Delivers the pending events, including the ones queued meanwhile. The
+     * delivery stays scheduled until the queue is drained, so no other one
+     * starts on another thread of the executor.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            List<VideoAPIEvent> events;
+            ListenerDispatcher<ListenerT> dispatcher;
+
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+                events = pending;
+                dispatcher = this.dispatcher;
+                pending = new ArrayList<>();
+                pendingByKey.clear();
+            }
+
+            try {
+                deliver(events, dispatcher);
+            } catch (RuntimeException e) {
+                // Don't stay scheduled forever because the listener threw.
+                synchronized (lock) {
+                    scheduled = false;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void deliver(List<VideoAPIEvent> events, ListenerDispatcher<ListenerT> dispatcher) {
+        ListenerT listener = view.getListener();
+
+        if (listener == null) {
+            return;
+        }
+
+        if (listener instanceof VideoAPIBatchedListener) {
+            ((VideoAPIBatchedListener) listener).onEvents(
+                Collections.unmodifiableList(events));
+        } else {
+            for (VideoAPIEvent event : events) {
+                dispatcher.dispatch(listener, event.getName(), event.getData());
+            }
+        }
+    }
+}
@@ -17,9 +17,7 @@
 package code.videoapi.sdk;
 
 import com.facebook.react.bridge.ReadableMap;
-import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.UiThreadUtil;
-import com.facebook.react.bridge.UnexpectedNativeTypeException;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -34,6 +32,11 @@ import java.util.regex.Pattern;
  * events into listener methods. Used with descendants of {@link BaseReactView}.
  */
 public final class ListenerUtils {
+    /**
+     * Whether the event data passed to the listeners is converted on access.
+     */
+    static volatile boolean lazyEventData;
+
     /**
      * Extracts the methods defined in a listener and creates a mapping of this
      * form: event name -> method.
@@ -133,7 +136,7 @@ public final class ListenerUtils {
         Method method = listenerMethods.get(eventName);
         if (method != null) {
             try {
-                method.invoke(listener, toHashMap(eventData));
+                method.invoke(listener, toEventData(eventData));
             } catch (IllegalAccessException e) {
                 throw new RuntimeException(e);
             } catch (InvocationTargetException e) {
@@ -143,30 +146,16 @@ public final class ListenerUtils {
     }
 
     /**
-     * Initializes a new {@code HashMap} instance with the key-value
-     * associations of a specific {@code ReadableMap}.
+     * Converts the data of an event for the listener.
      *
-     * @param readableMap the {@code ReadableMap} specifying the key-value
-     * associations with which the new {@code HashMap} instance is to be
-     * initialized.
-     * @return a new {@code HashMap} instance initialized with the key-value
-     * associations of the specified {@code readableMap}.
+     * @param eventData the {@code ReadableMap} received from JS.
+     * @return a {@code Map} with the same key-value associations, which is
+     * converted lazily if {@link VideoAPI#setLazyEventDataEnabled(boolean)}
+     * was enabled.
      */
-    private static HashMap<String, Object> toHashMap(ReadableMap readableMap) {
-        HashMap<String, Object> hashMap = new HashMap<>();
-
-        for (ReadableMapKeySetIterator i = readableMap.keySetIterator();
-                i.hasNextKey();) {
-            String key = i.nextKey();
-
-            try {
-                hashMap.put(key, readableMap.getString(key));
-            } catch (UnexpectedNativeTypeException e) {
-                hashMap.put(key, readableMap.getBoolean(key));
-            }
-
-        }
-
-        return hashMap;
+    static Map<String, Object> toEventData(ReadableMap eventData) {
+        return lazyEventData
+            ? ReadableMapConverter.toLazyMap(eventData)
+            : ReadableMapConverter.toHashMap(eventData);
     }
 }
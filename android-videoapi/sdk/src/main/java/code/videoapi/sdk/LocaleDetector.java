@@ -24,6 +24,7 @@ import android.content.Context;
 
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.module.annotations.ReactModule;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -31,8 +32,11 @@ import java.util.Map;
 /**
  * Module which provides information about the system locale.
  */
+@ReactModule(name = LocaleDetector.NAME)
 class LocaleDetector extends ReactContextBaseJavaModule {
 
+    public static final String NAME = "LocaleDetector";
+
     public LocaleDetector(ReactApplicationContext reactContext) {
         super(reactContext);
     }
@@ -53,6 +57,6 @@ class LocaleDetector extends ReactContextBaseJavaModule {
 
     @Override
     public String getName() {
-        return "LocaleDetector";
+        return NAME;
     }
 }
\ No newline at end of file
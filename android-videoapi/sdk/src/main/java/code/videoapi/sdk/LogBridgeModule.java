@@ -43,31 +43,49 @@ class LogBridgeModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void trace(final String message) {
+        long start = BridgeMetrics.start();
+
         VideoAPILogger.v(message);
+        BridgeMetrics.record(NAME, "trace", BridgeMetrics.estimateSize(message), start);
     }
 
     @ReactMethod
     public void debug(final String message) {
+        long start = BridgeMetrics.start();
+
         VideoAPILogger.d(message);
+        BridgeMetrics.record(NAME, "debug", BridgeMetrics.estimateSize(message), start);
     }
 
     @ReactMethod
     public void info(final String message) {
+        long start = BridgeMetrics.start();
+
         VideoAPILogger.i(message);
+        BridgeMetrics.record(NAME, "info", BridgeMetrics.estimateSize(message), start);
     }
 
     @ReactMethod
     public void log(final String message) {
+        long start = BridgeMetrics.start();
+
         VideoAPILogger.i(message);
+        BridgeMetrics.record(NAME, "log", BridgeMetrics.estimateSize(message), start);
     }
 
     @ReactMethod
     public void warn(final String message) {
+        long start = BridgeMetrics.start();
+
         VideoAPILogger.w(message);
+        BridgeMetrics.record(NAME, "warn", BridgeMetrics.estimateSize(message), start);
     }
 
     @ReactMethod
     public void error(final String message) {
+        long start = BridgeMetrics.start();
+
         VideoAPILogger.e(message);
+        BridgeMetrics.record(NAME, "error", BridgeMetrics.estimateSize(message), start);
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.os.Debug;
+import android.os.Handler;
+import android.os.Looper;
+
+import code.videoapi.sdk.log.VideoAPILogger;
+
+/**
+ * {@link ComponentCallbacks2} which tears the React Native instance down when
+ * the system is short on memory and no conference is running. The instance is
+ * created again the next time it's needed, or ahead of time with
+ * {@link VideoAPI#prewarm}.
+ */
+class MemoryPressureMonitor implements ComponentCallbacks2 {
+    private static final String TAG = MemoryPressureMonitor.class.getSimpleName();
+
+    /**
+     * How long to wait after a teardown before measuring the memory it
+     * released, in milliseconds.
+     */
+    private static final long MEASURE_DELAY = 5000;
+
+    /**
+     * The number of times the React Native instance was torn down.
+     */
+    private static volatile int teardownCount;
+
+    /**
+     * The memory released by the teardowns, in bytes.
+     */
+    private static volatile long releasedBytes;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    static int getTeardownCount() {
+        return teardownCount;
+    }
+
+    static long getReleasedBytes() {
+        return releasedBytes;
+    }
+
+    /**
+     * Gets the amount of memory currently used by the Java and native heaps,
+     * the latter including the JavaScript heap.
+     *
+     * @return the used memory in bytes.
+     */
+    private static long getUsedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+
+        return runtime.totalMemory() - runtime.freeMemory()
+            + Debug.getNativeHeapAllocatedSize();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_BACKGROUND
+                || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            maybeTeardown(level);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        maybeTeardown(TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+    /**
+     * Tears the React Native instance down, unless it's in use.
+     *
+     * @param level the trim level which triggered the teardown.
+     */
+    private void maybeTeardown(int level) {
+        if (OngoingConferenceTracker.getInstance().getCurrentConference() != null
+                || BaseReactView.hasReactRootViews()) {
+            return;
+        }
+
+        final long usedBefore = getUsedMemory();
+
+        if (!ReactInstanceManagerHolder.destroyReactInstanceManager()) {
+            return;
+        }
+
+        teardownCount++;
+        VideoAPILogger.i(TAG + " React instance torn down, trim level: " + level);
+
+        handler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                long released = Math.max(0, usedBefore - getUsedMemory());
+
+                releasedBytes += released;
+                VideoAPILogger.i(TAG + " Released " + released / 1024 + " KiB");
+            }
+        }, MEASURE_DELAY);
+    }
+}
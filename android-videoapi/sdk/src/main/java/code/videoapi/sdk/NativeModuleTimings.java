@@ -0,0 +1,123 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import code.videoapi.sdk.log.VideoAPILogger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of which of the lazily created SDK native modules were actually
+ * instantiated and how long it took, so that the modules skipped in a session
+ * can be told apart from the ones which contribute to the startup time.
+ */
+final class NativeModuleTimings {
+    private static final String TAG = NativeModuleTimings.class.getSimpleName();
+
+    /**
+     * The names of the native modules registered with the current React
+     * context.
+     */
+    private static volatile List<String> registeredModules = Collections.emptyList();
+
+    /**
+     * The time it took to create each native module, in nanoseconds, by module
+     * name.
+     */
+    private static final Map<String, Long> creationTimes = new ConcurrentHashMap<>();
+
+    private NativeModuleTimings() {
+    }
+
+    /**
+     * Called when the native modules are registered with a new React context.
+     *
+     * @param names the names of the registered modules.
+     */
+    static void onModulesRegistered(Collection<String> names) {
+        registeredModules = Collections.unmodifiableList(new ArrayList<>(names));
+        creationTimes.clear();
+    }
+
+    /**
+     * Called when a native module has been instantiated.
+     *
+     * @param name the name of the module.
+     * @param nanos how long the creation took, in nanoseconds.
+     */
+    static void onModuleCreated(String name, long nanos) {
+        creationTimes.put(name, nanos);
+
+        VideoAPILogger.d("%s %s created in %.2f ms", TAG, name, nanos / 1e6);
+    }
+
+    /**
+     * Gets the time it took to create each of the native modules created so
+     * far.
+     *
+     * @return the creation times in milliseconds, by module name.
+     */
+    static Map<String, Long> getCreationTimes() {
+        Map<String, Long> result = new HashMap<>();
+
+        for (Map.Entry<String, Long> e : creationTimes.entrySet()) {
+            result.put(e.getKey(), TimeUnit.NANOSECONDS.toMillis(e.getValue()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the names of the registered native modules which have not been
+     * created (yet).
+     *
+     * @return the names of the skipped modules.
+     */
+    static List<String> getSkippedModules() {
+        List<String> skipped = new ArrayList<>();
+
+        for (String name : registeredModules) {
+            if (!creationTimes.containsKey(name)) {
+                skipped.add(name);
+            }
+        }
+
+        return skipped;
+    }
+
+    /**
+     * Logs a summary of the created and skipped native modules.
+     */
+    static void log() {
+        long total = 0;
+
+        for (long nanos : creationTimes.values()) {
+            total += nanos;
+        }
+
+        VideoAPILogger.i(
+            "%s %d native modules created in %.2f ms, skipped: %s",
+            TAG, creationTimes.size(), total / 1e6, getSkippedModules());
+    }
+}
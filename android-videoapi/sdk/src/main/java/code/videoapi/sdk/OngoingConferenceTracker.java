@@ -16,25 +16,72 @@
 
 package code.videoapi.sdk;
 
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
 import com.facebook.react.bridge.ReadableMap;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
- * Helper class to keep track of what the current conference is.
+ * Helper class to keep track of what the current conference is. Every view
+ * (i.e. external API scope) may be in its own conference, the current one is
+ * the last one which started to be joined and hasn't been terminated.
  */
 class OngoingConferenceTracker {
     private static final OngoingConferenceTracker instance = new OngoingConferenceTracker();
 
+    private static final String CONFERENCE_JOINED = "CONFERENCE_JOINED";
     private static final String CONFERENCE_WILL_JOIN = "CONFERENCE_WILL_JOIN";
     private static final String CONFERENCE_TERMINATED = "CONFERENCE_TERMINATED";
 
-    private final Collection<OngoingConferenceListener> listeners =
-        Collections.synchronizedSet(new HashSet<OngoingConferenceListener>());
-    private String currentConference;
+    /**
+     * The number of terminated conferences which are remembered.
+     */
+    private static final int MAX_TERMINATED_CONFERENCES = 8;
+
+    /**
+     * The listeners are rarely added or removed, so they are iterated without
+     * locking.
+     */
+    private final CopyOnWriteArrayList<OngoingConferenceListener> listeners
+        = new CopyOnWriteArrayList<>();
+
+    /**
+     * The conferences which are not terminated, by external API scope,
+     * guarded by {@code this}. In the order they started to be joined.
+     */
+    private final LinkedHashMap<String, VideoAPIConferenceInfo> conferences
+        = new LinkedHashMap<>();
+
+    /**
+     * The conferences which were terminated last, guarded by {@code this}.
+     */
+    private final ArrayDeque<VideoAPIConferenceInfo> terminatedConferences = new ArrayDeque<>();
+
+    /**
+     * The URL of the current conference. Only written while holding
+     * {@code this}.
+     */
+    private volatile String currentConference;
+
+    /**
+     * Serializes the notifications of the listeners, so they are notified in
+     * the order {@link #currentConference} changed.
+     */
+    private final Object notifyLock = new Object();
+
+    /**
+     * The conference the listeners were last notified of, guarded by
+     * {@link #notifyLock}.
+     */
+    private String notifiedConference;
 
     public OngoingConferenceTracker() {
     }
@@ -48,11 +95,44 @@ class OngoingConferenceTracker {
      *
      * @return - The current conference URL as a String.
      */
-    synchronized String getCurrentConference() {
+    String getCurrentConference() {
         return currentConference;
     }
 
-    synchronized void onExternalAPIEvent(String name, ReadableMap data) {
+    /**
+     * Gets the conferences which are ongoing and the ones which were
+     * terminated last.
+     *
+     * @return - The snapshots of the conferences, terminated ones first.
+     */
+    synchronized List<VideoAPIConferenceInfo> getConferences() {
+        List<VideoAPIConferenceInfo> result
+            = new ArrayList<>(terminatedConferences.size() + conferences.size());
+
+        result.addAll(terminatedConferences);
+        result.addAll(conferences.values());
+
+        return result;
+    }
+
+    void onExternalAPIEvent(String name, ReadableMap data, @Nullable String scope) {
+        VideoAPIConferenceInfo.State state;
+
+        // Most events are not about the conference, don't even look at them.
+        switch (name) {
+            case CONFERENCE_WILL_JOIN:
+                state = VideoAPIConferenceInfo.State.WILL_JOIN;
+                break;
+            case CONFERENCE_JOINED:
+                state = VideoAPIConferenceInfo.State.JOINED;
+                break;
+            case CONFERENCE_TERMINATED:
+                state = VideoAPIConferenceInfo.State.TERMINATED;
+                break;
+            default:
+                return;
+        }
+
         if (!data.hasKey("url")) {
             return;
         }
@@ -62,33 +142,129 @@ class OngoingConferenceTracker {
             return;
         }
 
-        switch(name) {
-            case CONFERENCE_WILL_JOIN:
+        if (scope == null) {
+            scope = "";
+        }
+
+        synchronized (this) {
+            onStateChanged(scope, url, state, SystemClock.elapsedRealtime());
+        }
+
+        updateListeners();
+    }
+
+    /**
+     * Moves the conference of a scope to a new state. MUST be called while
+     * holding {@code this}.
+     */
+    private void onStateChanged(
+            String scope,
+            String url,
+            VideoAPIConferenceInfo.State state,
+            long now) {
+        VideoAPIConferenceInfo conference = conferences.get(scope);
+
+        // Events about a previous conference of the scope are late, ignore
+        // them.
+        if (conference != null && !conference.getUrl().equals(url)
+                && state != VideoAPIConferenceInfo.State.WILL_JOIN) {
+            return;
+        }
+
+        switch (state) {
+            case WILL_JOIN:
+                if (conference != null) {
+                    // The scope moved on to another conference.
+                    terminate(scope, conference, now);
+                }
+                conferences.put(
+                    scope,
+                    new VideoAPIConferenceInfo(
+                        url, state, now, -1, -1));
                 currentConference = url;
-                updateListeners();
                 break;
 
-            case CONFERENCE_TERMINATED:
-                if (url.equals(currentConference)) {
+            case JOINED:
+                conferences.put(
+                    scope,
+                    new VideoAPIConferenceInfo(
+                        url,
+                        state,
+                        conference != null ? conference.getWillJoinTime() : -1,
+                        now,
+                        -1));
+                if (conference == null) {
+                    // The will join event was missed.
+                    currentConference = url;
+                }
+                break;
+
+            case TERMINATED:
+                if (conference != null) {
+                    terminate(scope, conference, now);
+                } else if (url.equals(currentConference)) {
                     currentConference = null;
-                    updateListeners();
                 }
                 break;
         }
     }
 
+    /**
+     * Terminates the conference of a scope, the current conference becomes
+     * the last one which started to be joined in another scope, if any.
+     */
+    private void terminate(String scope, VideoAPIConferenceInfo conference, long now) {
+        conferences.remove(scope);
+        terminatedConferences.addLast(
+            new VideoAPIConferenceInfo(
+                conference.getUrl(),
+                VideoAPIConferenceInfo.State.TERMINATED,
+                conference.getWillJoinTime(),
+                conference.getJoinedTime(),
+                now));
+        if (terminatedConferences.size() > MAX_TERMINATED_CONFERENCES) {
+            terminatedConferences.removeFirst();
+        }
+
+        if (conference.getUrl().equals(currentConference)) {
+            VideoAPIConferenceInfo last = null;
+
+            for (VideoAPIConferenceInfo c : conferences.values()) {
+                if (last == null || c.getWillJoinTime() > last.getWillJoinTime()) {
+                    last = c;
+                }
+            }
+            currentConference = last != null ? last.getUrl() : null;
+        }
+    }
+
     void addListener(OngoingConferenceListener listener) {
-        listeners.add(listener);
+        listeners.addIfAbsent(listener);
     }
 
     void removeListener(OngoingConferenceListener listener) {
         listeners.remove(listener);
     }
 
+    /**
+     * Notifies the listeners if the current conference changed since they
+     * were last notified. The current conference is read again once the
+     * previous notification is done, so the listeners are left with the
+     * latest one even when events of several scopes race.
+     */
     private void updateListeners() {
-        synchronized (listeners) {
+        synchronized (notifyLock) {
+            String conference = currentConference;
+
+            if (conference == null
+                    ? notifiedConference == null
+                    : conference.equals(notifiedConference)) {
+                return;
+            }
+
+            notifiedConference = conference;
             for (OngoingConferenceListener listener : listeners) {
-                listener.onCurrentConferenceChanged(currentConference);
+                listener.onCurrentConferenceChanged(conference);
             }
         }
     }
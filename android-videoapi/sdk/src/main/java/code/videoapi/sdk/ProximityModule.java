@@ -91,6 +91,8 @@ class ProximityModule extends ReactContextBaseJavaModule {
             return;
         }
 
+        // Acquiring and releasing don't block, so toggle on the UI thread: the
+        // toggles keep their order and the screen turns off right away.
         UiThreadUtil.runOnUiThread(new Runnable() {
             @Override
             public void run() {
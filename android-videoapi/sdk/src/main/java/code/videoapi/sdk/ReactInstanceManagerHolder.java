@@ -17,35 +17,52 @@
 package code.videoapi.sdk;
 
 import android.app.Activity;
+import android.app.Application;
 
 import androidx.annotation.Nullable;
 
+import com.facebook.hermes.reactexecutor.HermesExecutorFactory;
+import com.facebook.react.LazyReactPackage;
 import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.ReactPackage;
+import com.facebook.react.bridge.JavaScriptExecutorFactory;
+import com.facebook.react.bridge.ModuleSpec;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.LifecycleState;
 import com.facebook.react.devsupport.DevInternalSettings;
 import com.facebook.react.jscexecutor.JSCExecutorFactory;
-import com.facebook.react.modules.core.DeviceEventManagerModule;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 import com.facebook.react.uimanager.ViewManager;
 import com.facebook.soloader.SoLoader;
 import com.oney.WebRTCModule.RTCVideoViewManager;
 import com.oney.WebRTCModule.WebRTCModule;
 
 import org.devio.rn.splashscreen.SplashScreenModule;
-import org.webrtc.SoftwareVideoDecoderFactory;
-import org.webrtc.SoftwareVideoEncoderFactory;
 import org.webrtc.audio.AudioDeviceModule;
 import org.webrtc.audio.JavaAudioDeviceModule;
 
-import java.lang.reflect.Constructor;
+import code.videoapi.sdk.log.VideoAPILogger;
+import code.videoapi.sdk.net.NAT64AddrInfoModule;
+
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import javax.inject.Provider;
 
 class ReactInstanceManagerHolder {
+    /**
+     * Names of the third-party native modules, as exposed to JavaScript.
+     */
+    private static final String SPLASH_SCREEN_MODULE = "SplashScreen";
+    private static final String WEBRTC_MODULE = "WebRTCModule";
+
     /**
      * FIXME (from linter): Do not place Android context classes in static
      * fields (static reference to ReactInstanceManager which has field
@@ -57,55 +74,198 @@ class ReactInstanceManagerHolder {
      */
     private static ReactInstanceManager reactInstanceManager;
 
-    private static List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-        List<NativeModule> nativeModules
-            = new ArrayList<>(Arrays.<NativeModule>asList(
-                new AndroidSettingsModule(reactContext),
-                new AppInfoModule(reactContext),
-                new AudioModeModule(reactContext),
-                new DropboxModule(reactContext),
-                new ExternalAPIModule(reactContext),
-                new JavaScriptSandboxModule(reactContext),
-                new LocaleDetector(reactContext),
-                new LogBridgeModule(reactContext),
-                new SplashScreenModule(reactContext),
-                new PictureInPictureModule(reactContext),
-                new ProximityModule(reactContext),
-                new WiFiStatsModule(reactContext),
-                new code.videoapi.sdk.net.NAT64AddrInfoModule(reactContext)));
+    /**
+     * {@link Runnable}s waiting for the React context to be created. Only
+     * accessed on the UI thread.
+     */
+    private static final List<Runnable> readyListeners = new ArrayList<>();
+
+    /**
+     * Tears the React Native instance down when the system is short on memory.
+     * Registered with the {@code Application} once.
+     */
+    private static MemoryPressureMonitor memoryPressureMonitor;
+
+    /**
+     * The JavaScript engine to run the app with. Defaults to Hermes when it's
+     * included in the build.
+     */
+    private static VideoAPI.JSEngine jsEngine
+        = BuildConfig.HERMES_ENABLED ? VideoAPI.JSEngine.HERMES : VideoAPI.JSEngine.JSC;
+
+    /**
+     * Creates the specs of the native modules provided by the SDK. The modules
+     * themselves are only instantiated when first looked up, either by
+     * JavaScript or by native code through {@link #getNativeModule(Class)}.
+     *
+     * @param reactContext the {@link ReactApplicationContext} the modules will
+     * be created in.
+     * @return the list of {@link ModuleSpec}s.
+     */
+    private static List<ModuleSpec> getNativeModuleSpecs(ReactApplicationContext reactContext) {
+        List<String> names = new ArrayList<>(Arrays.asList(
+            AndroidSettingsModule.NAME,
+            AppInfoModule.NAME,
+            AudioModeModule.NAME,
+            DropboxModule.NAME,
+            ExternalAPIModule.NAME,
+            JavaScriptSandboxModule.NAME,
+            LocaleDetector.NAME,
+            LogBridgeModule.NAME,
+            SPLASH_SCREEN_MODULE,
+            PictureInPictureModule.NAME,
+            ProximityModule.NAME,
+            WiFiStatsModule.NAME,
+            NAT64AddrInfoModule.NAME,
+            WEBRTC_MODULE,
+            VideoAPICommandBridgeModule.NAME));
 
         if (AudioModeModule.useConnectionService()) {
-            nativeModules.add(new RNConnectionService(reactContext));
+            names.add(RNConnectionService.NAME);
         }
 
-        // Initialize the WebRTC module by hand, since we want to override some
-        // initialization options.
-        WebRTCModule.Options options = new WebRTCModule.Options();
+        // The optional modules are not compiled when LIBRE_BUILD is enabled.
+        OptionalModules.addNativeModuleNames(names);
 
-        AudioDeviceModule adm = JavaAudioDeviceModule.builder(reactContext)
-            .createAudioDeviceModule();
-        options.setAudioDeviceModule(adm);
+        List<ModuleSpec> specs = new ArrayList<>(names.size());
 
-        options.setVideoDecoderFactory(new SoftwareVideoDecoderFactory());
-        options.setVideoEncoderFactory(new SoftwareVideoEncoderFactory());
+        for (String name : names) {
+            specs.add(
+                ModuleSpec.nativeModuleSpec(
+                    name,
+                    new NativeModuleProvider(name, reactContext)));
+        }
+        NativeModuleTimings.onModulesRegistered(names);
 
-        nativeModules.add(new WebRTCModule(reactContext, options));
-        nativeModules.add(new VideoAPICommandBridgeModule(reactContext));
+        return specs;
+    }
 
-        try {
-            Class<?> amplitudeModuleClass = Class.forName("code.videoapi.sdk.AmplitudeModule");
-            Constructor constructor = amplitudeModuleClass.getConstructor(ReactApplicationContext.class);
-            nativeModules.add((NativeModule)constructor.newInstance(reactContext));
-        } catch (Exception e) {
-            // Ignore any error, the module is not compiled when LIBRE_BUILD is enabled.
+    /**
+     * Instantiates the native module with the given name.
+     *
+     * @param name the name of the module, as exposed to JavaScript.
+     * @param reactContext the {@link ReactApplicationContext} where the module
+     * is created.
+     * @return the new {@link NativeModule}.
+     */
+    private static NativeModule createNativeModule(
+            String name,
+            ReactApplicationContext reactContext) {
+        switch (name) {
+        case AndroidSettingsModule.NAME:
+            return new AndroidSettingsModule(reactContext);
+        case AppInfoModule.NAME:
+            return new AppInfoModule(reactContext);
+        case AudioModeModule.NAME:
+            return new AudioModeModule(reactContext);
+        case DropboxModule.NAME:
+            return new DropboxModule(reactContext);
+        case ExternalAPIModule.NAME:
+            return new ExternalAPIModule(reactContext);
+        case JavaScriptSandboxModule.NAME:
+            return new JavaScriptSandboxModule(reactContext);
+        case LocaleDetector.NAME:
+            return new LocaleDetector(reactContext);
+        case LogBridgeModule.NAME:
+            return new LogBridgeModule(reactContext);
+        case SPLASH_SCREEN_MODULE:
+            return new SplashScreenModule(reactContext);
+        case PictureInPictureModule.NAME:
+            return new PictureInPictureModule(reactContext);
+        case ProximityModule.NAME:
+            return new ProximityModule(reactContext);
+        case WiFiStatsModule.NAME:
+            return new WiFiStatsModule(reactContext);
+        case NAT64AddrInfoModule.NAME:
+            return new NAT64AddrInfoModule(reactContext);
+        case RNConnectionService.NAME:
+            return new RNConnectionService(reactContext);
+        case VideoAPICommandBridgeModule.NAME:
+            return new VideoAPICommandBridgeModule(reactContext);
+        case WEBRTC_MODULE: {
+            // Initialize the WebRTC module by hand, since we want to override
+            // some initialization options.
+            WebRTCModule.Options options = new WebRTCModule.Options();
+
+            AudioDeviceModule adm = JavaAudioDeviceModule.builder(reactContext)
+                .createAudioDeviceModule();
+            options.setAudioDeviceModule(adm);
+
+            VideoCodecFactories.configure(options, VideoAPI.getVideoCodecPolicy());
+
+            return new WebRTCModule(reactContext, options);
+        }
+        default: {
+            NativeModule module = OptionalModules.createNativeModule(name, reactContext);
+
+            if (module == null) {
+                throw new IllegalArgumentException("Unknown native module: " + name);
+            }
+
+            return module;
         }
+        }
+    }
+
+    /**
+     * Gets the {@link ReactModuleInfo}s of the native modules provided by the
+     * SDK. None of them needs to be initialized eagerly.
+     *
+     * @return a {@link Map} of {@link ReactModuleInfo}s by module name.
+     */
+    private static Map<String, ReactModuleInfo> getNativeModuleInfos() {
+        Map<String, ReactModuleInfo> infos = new HashMap<>();
+
+        putModuleInfo(infos, AndroidSettingsModule.NAME, "code.videoapi.sdk.AndroidSettingsModule", false);
+        putModuleInfo(infos, AppInfoModule.NAME, "code.videoapi.sdk.AppInfoModule", true);
+        putModuleInfo(infos, AudioModeModule.NAME, "code.videoapi.sdk.AudioModeModule", true);
+        putModuleInfo(infos, DropboxModule.NAME, "code.videoapi.sdk.DropboxModule", true);
+        putModuleInfo(infos, ExternalAPIModule.NAME, "code.videoapi.sdk.ExternalAPIModule", false);
+        putModuleInfo(infos, JavaScriptSandboxModule.NAME, "code.videoapi.sdk.JavaScriptSandboxModule", false);
+        putModuleInfo(infos, LocaleDetector.NAME, "code.videoapi.sdk.LocaleDetector", true);
+        putModuleInfo(infos, LogBridgeModule.NAME, "code.videoapi.sdk.LogBridgeModule", false);
+        putModuleInfo(infos, SPLASH_SCREEN_MODULE, "org.devio.rn.splashscreen.SplashScreenModule", false);
+        putModuleInfo(infos, PictureInPictureModule.NAME, "code.videoapi.sdk.PictureInPictureModule", true);
+        putModuleInfo(infos, ProximityModule.NAME, "code.videoapi.sdk.ProximityModule", false);
+        putModuleInfo(infos, WiFiStatsModule.NAME, "code.videoapi.sdk.WiFiStatsModule", false);
+        putModuleInfo(infos, NAT64AddrInfoModule.NAME, "code.videoapi.sdk.net.NAT64AddrInfoModule", false);
+        putModuleInfo(infos, RNConnectionService.NAME, "code.videoapi.sdk.RNConnectionService", false);
+        putModuleInfo(infos, VideoAPICommandBridgeModule.NAME, "code.videoapi.sdk.VideoAPICommandBridgeModule", false);
+        putModuleInfo(infos, WEBRTC_MODULE, "com.oney.WebRTCModule.WebRTCModule", true);
+        OptionalModules.addNativeModuleInfos(infos);
+
+        return infos;
+    }
 
-        return nativeModules;
+    /**
+     * Adds the {@link ReactModuleInfo} of a native module which needs no eager
+     * initialization. Also used by the generated {@code OptionalModules}.
+     *
+     * @param infos - The {@link ReactModuleInfo}s by module name.
+     * @param name - The name of the module, as exposed to JavaScript.
+     * @param className - The name of the class of the module.
+     * @param hasConstants - Whether the module exports constants.
+     */
+    static void putModuleInfo(
+            Map<String, ReactModuleInfo> infos,
+            String name,
+            String className,
+            boolean hasConstants) {
+        infos.put(
+            name,
+            new ReactModuleInfo(
+                name,
+                className,
+                /* canOverrideExistingModule */ false,
+                /* needsEagerInit */ false,
+                hasConstants,
+                /* isCxxModule */ false,
+                /* isTurboModule */ false));
     }
 
     private static List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
         return Arrays.<ViewManager>asList(
-            // WebRTC, see createNativeModules for details.
+            // WebRTC, see createNativeModule for details.
             new RTCVideoViewManager()
         );
     }
@@ -119,19 +279,21 @@ class ReactInstanceManagerHolder {
     static void emitEvent(
             String eventName,
             @Nullable Object data) {
-        ReactInstanceManager reactInstanceManager
-            = ReactInstanceManagerHolder.getReactInstanceManager();
-
-        if (reactInstanceManager != null) {
-            ReactContext reactContext
-                = reactInstanceManager.getCurrentReactContext();
+        JSEventEmitter.emit(eventName, data);
+    }
 
-            if (reactContext != null) {
-                reactContext
-                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                    .emit(eventName, data);
-            }
-        }
+    /**
+     * Helper function to send an event to JavaScript with the other events
+     * emitted until the next frame, in a single bridge call. For the events
+     * which aren't urgent.
+     *
+     * @param eventName {@code String} containing the event name.
+     * @param data {@code Object} optional ancillary data for the event.
+     */
+    static void emitEventBatched(
+            String eventName,
+            @Nullable Object data) {
+        JSEventEmitter.emitBatched(eventName, data);
     }
 
     /**
@@ -179,64 +341,312 @@ class ReactInstanceManagerHolder {
      * @param activity {@code Activity} current running Activity.
      */
     static void initReactInstanceManager(Activity activity) {
+        initReactInstanceManager(activity.getApplication(), activity);
+    }
+
+    /**
+     * Initializes the React Native instance manager, optionally without an
+     * {@code Activity}. When no {@code Activity} is given the instance manager
+     * starts in the {@link LifecycleState#BEFORE_CREATE} state and is resumed
+     * by {@link VideoAPIActivityDelegate#onHostResume(Activity)}.
+     *
+     * @param application {@code Application} the SDK is running in.
+     * @param activity {@code Activity} current running Activity, if any.
+     */
+    private static void initReactInstanceManager(
+            Application application,
+            @Nullable Activity activity) {
         if (reactInstanceManager != null) {
             return;
         }
 
-        SoLoader.init(activity, /* native exopackage */ false);
-
-        List<ReactPackage> packages
-            = new ArrayList<>(Arrays.asList(
-                new com.BV.LinearGradient.LinearGradientPackage(),
-                new com.calendarevents.CalendarEventsPackage(),
-                new com.corbt.keepawake.KCKeepAwakePackage(),
-                new com.facebook.react.shell.MainReactPackage(),
-                new com.horcrux.svg.SvgPackage(),
-                new com.kevinresol.react_native_default_preference.RNDefaultPreferencePackage(),
-                new com.ocetnik.timer.BackgroundTimerPackage(),
-                new com.reactnativecommunity.asyncstorage.AsyncStoragePackage(),
-                new com.reactnativecommunity.netinfo.NetInfoPackage(),
-                new com.reactnativecommunity.webview.RNCWebViewPackage(),
-                new com.rnimmersive.RNImmersivePackage(),
-                new com.zmxv.RNSound.RNSoundPackage(),
-                new ReactPackageAdapter() {
+        StartupTrace.begin(VideoAPIStartupMetrics.INIT_REACT_INSTANCE_MANAGER);
+        try {
+            initSoLoader(application);
+
+            List<ReactPackage> packages
+                = new ArrayList<>(Arrays.asList(
+                    new com.BV.LinearGradient.LinearGradientPackage(),
+                    new com.calendarevents.CalendarEventsPackage(),
+                    new com.corbt.keepawake.KCKeepAwakePackage(),
+                    new com.facebook.react.shell.MainReactPackage(),
+                    new com.horcrux.svg.SvgPackage(),
+                    new com.kevinresol.react_native_default_preference.RNDefaultPreferencePackage(),
+                    new com.ocetnik.timer.BackgroundTimerPackage(),
+                    new com.reactnativecommunity.asyncstorage.AsyncStoragePackage(),
+                    new com.reactnativecommunity.netinfo.NetInfoPackage(),
+                    new com.reactnativecommunity.webview.RNCWebViewPackage(),
+                    new com.rnimmersive.RNImmersivePackage(),
+                    new com.zmxv.RNSound.RNSoundPackage(),
+                    new LazyReactPackage() {
+                        @Override
+                        public List<ModuleSpec> getNativeModules(ReactApplicationContext reactContext) {
+                            return ReactInstanceManagerHolder.getNativeModuleSpecs(reactContext);
+                        }
+                        @Override
+                        public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
+                            return ReactInstanceManagerHolder.createViewManagers(reactContext);
+                        }
+                        @Override
+                        public ReactModuleInfoProvider getReactModuleInfoProvider() {
+                            return new ReactModuleInfoProvider() {
+                                @Override
+                                public Map<String, ReactModuleInfo> getReactModuleInfos() {
+                                    return ReactInstanceManagerHolder.getNativeModuleInfos();
+                                }
+                            };
+                        }
+                    }));
+
+            // The optional packages are not compiled when LIBRE_BUILD is enabled.
+            OptionalModules.addPackages(packages);
+
+            JavaScriptExecutorFactory jsFactory = createJSExecutorFactory();
+
+            reactInstanceManager
+                = ReactInstanceManager.builder()
+                    .setApplication(application)
+                    .setCurrentActivity(activity)
+                    .setBundleAssetName("index.android.bundle")
+                    .setJSMainModulePath("index.android")
+                    .setJavaScriptExecutorFactory(jsFactory)
+                    .addPackages(packages)
+                    .setUseDeveloperSupport(BuildConfig.DEBUG)
+                    .setInitialLifecycleState(
+                        activity != null
+                            ? LifecycleState.RESUMED
+                            : LifecycleState.BEFORE_CREATE)
+                    .build();
+
+            reactInstanceManager.addReactInstanceEventListener(
+                new ReactInstanceManager.ReactInstanceEventListener() {
                     @Override
-                    public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-                        return ReactInstanceManagerHolder.createNativeModules(reactContext);
+                    public void onReactContextInitialized(ReactContext reactContext) {
+                        StartupTrace.mark(VideoAPIStartupMetrics.REACT_CONTEXT_READY);
+                        JSEventEmitter.onReactContextInitialized(reactContext);
+                        notifyReadyListeners();
                     }
+                });
+
+            if (memoryPressureMonitor == null) {
+                memoryPressureMonitor = new MemoryPressureMonitor();
+                application.registerComponentCallbacks(memoryPressureMonitor);
+            }
+
+            // Register our uncaught exception handler.
+            VideoAPIUncaughtExceptionHandler.register();
+        } finally {
+            StartupTrace.end(VideoAPIStartupMetrics.INIT_REACT_INSTANCE_MANAGER);
+        }
+    }
+
+    /**
+     * Creates the {@link JavaScriptExecutorFactory} for the selected
+     * JavaScript engine.
+     *
+     * @return the {@link JavaScriptExecutorFactory} to be used by the React
+     * Native bridge.
+     */
+    private static JavaScriptExecutorFactory createJSExecutorFactory() {
+        VideoAPILogger.i("Using " + jsEngine + " as the JavaScript engine");
+
+        switch (jsEngine) {
+        case HERMES:
+            return new HermesExecutorFactory();
+        default:
+            return new JSCExecutorFactory("", "");
+        }
+    }
+
+    /**
+     * Gets the JavaScript engine which is, or will be, used.
+     *
+     * @return the {@link VideoAPI.JSEngine}.
+     */
+    static VideoAPI.JSEngine getJSEngine() {
+        return jsEngine;
+    }
+
+    /**
+     * Selects the JavaScript engine to be used. Must be called before the
+     * React Native instance manager is initialized.
+     *
+     * @param engine the {@link VideoAPI.JSEngine} to use.
+     */
+    static void setJSEngine(VideoAPI.JSEngine engine) {
+        if (reactInstanceManager != null) {
+            throw new IllegalStateException(
+                "The JavaScript engine cannot be changed once initialized");
+        }
+
+        if (engine == VideoAPI.JSEngine.HERMES && !BuildConfig.HERMES_ENABLED) {
+            throw new IllegalArgumentException(
+                "Hermes is not included in this build");
+        }
+
+        // Release builds with Hermes ship the bundle as Hermes bytecode, which
+        // JSC cannot run.
+        if (engine == VideoAPI.JSEngine.JSC
+                && BuildConfig.HERMES_ENABLED
+                && !BuildConfig.DEBUG) {
+            throw new IllegalArgumentException(
+                "The JavaScript bundle has been precompiled for Hermes");
+        }
+
+        jsEngine = engine;
+    }
+
+    /**
+     * Loads the native libraries needed by React Native.
+     *
+     * @param application {@code Application} the SDK is running in.
+     */
+    private static void initSoLoader(Application application) {
+        StartupTrace.begin(VideoAPIStartupMetrics.SOLOADER_INIT);
+        try {
+            SoLoader.init(application, /* native exopackage */ false);
+        } finally {
+            StartupTrace.end(VideoAPIStartupMetrics.SOLOADER_INIT);
+        }
+    }
+
+    /**
+     * Initializes the React Native instance manager and starts creating the
+     * React context ahead of the first {@link BaseReactView}. The native
+     * libraries are loaded on a background thread, the instance manager is
+     * then built on the UI thread and React Native itself loads the JavaScript
+     * bundle on its own background thread.
+     *
+     * @param application {@code Application} the SDK is running in.
+     * @param onReady {@link Runnable} to be run on the UI thread once the React
+     * context has been created, or {@code null}.
+     */
+    static void prewarm(
+            final Application application,
+            @Nullable final Runnable onReady) {
+        if (onReady != null) {
+            UiThreadUtil.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    runWhenReady(onReady);
+                }
+            });
+        }
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                initSoLoader(application);
+
+                UiThreadUtil.runOnUiThread(new Runnable() {
                     @Override
-                    public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
-                        return ReactInstanceManagerHolder.createViewManagers(reactContext);
+                    public void run() {
+                        initReactInstanceManager(application, null);
+
+                        if (!reactInstanceManager.hasStartedCreatingInitialContext()) {
+                            reactInstanceManager.createReactContextInBackground();
+                        }
                     }
-                }));
+                });
+            }
+        }, "VideoAPIPrewarm").start();
+    }
 
-        try {
-            Class<?> googlePackageClass = Class.forName("co.apptailor.googlesignin.RNGoogleSigninPackage");
-            Constructor constructor = googlePackageClass.getConstructor();
-            packages.add((ReactPackage)constructor.newInstance());
-        } catch (Exception e) {
-            // Ignore any error, the module is not compiled when LIBRE_BUILD is enabled.
+    /**
+     * Destroys the React Native instance manager, releasing the JavaScript
+     * heap and the resources held by the native modules. It will be created
+     * again the next time it's needed. MUST be called on the UI thread and only
+     * when no {@code ReactRootView} is using it.
+     *
+     * @return {@code true} if the instance manager was destroyed;
+     * {@code false} if there was none.
+     */
+    static boolean destroyReactInstanceManager() {
+        UiThreadUtil.assertOnUiThread();
+
+        // An idle app kept for reuse is not worth keeping at this point.
+        ReactRootViewPool.clear();
+
+        if (reactInstanceManager == null) {
+            return false;
         }
 
-        // Keep on using JSC, the jury is out on Hermes.
-        JSCExecutorFactory jsFactory
-            = new JSCExecutorFactory("", "");
+        JSEventEmitter.clear();
+        reactInstanceManager.destroy();
+        reactInstanceManager = null;
+        TaskScheduler.shutdown();
+        StartupTrace.onInstanceDestroyed();
 
-        reactInstanceManager
-            = ReactInstanceManager.builder()
-                .setApplication(activity.getApplication())
-                .setCurrentActivity(activity)
-                .setBundleAssetName("index.android.bundle")
-                .setJSMainModulePath("index.android")
-                .setJavaScriptExecutorFactory(jsFactory)
-                .addPackages(packages)
-                .setUseDeveloperSupport(BuildConfig.DEBUG)
-                .setInitialLifecycleState(LifecycleState.RESUMED)
-                .build();
+        return true;
+    }
 
+    /**
+     * Tells whether the React context has been created and is ready to be used
+     * by React root views.
+     *
+     * @return {@code true} if the React context is ready; {@code false},
+     * otherwise.
+     */
+    static boolean isReady() {
+        return reactInstanceManager != null
+            && reactInstanceManager.getCurrentReactContext() != null;
+    }
 
+    /**
+     * Runs the given {@link Runnable} once the React context is ready, or
+     * right away if it already is. MUST be called on the UI thread.
+     *
+     * @param runnable {@link Runnable} to be run.
+     */
+    private static void runWhenReady(Runnable runnable) {
+        UiThreadUtil.assertOnUiThread();
 
-        // Register our uncaught exception handler.
-        VideoAPIUncaughtExceptionHandler.register();
+        if (isReady()) {
+            runnable.run();
+        } else {
+            readyListeners.add(runnable);
+        }
+    }
+
+    /**
+     * Runs all the {@link Runnable}s waiting for the React context to be
+     * created. Called on the UI thread by React Native.
+     */
+    private static void notifyReadyListeners() {
+        List<Runnable> listeners = new ArrayList<>(readyListeners);
+
+        readyListeners.clear();
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (Throwable tr) {
+                VideoAPILogger.e(tr, "Error running prewarm listener");
+            }
+        }
+    }
+
+    /**
+     * {@link Provider} which creates a native module the first time it's
+     * needed and records how long its creation took.
+     */
+    private static class NativeModuleProvider implements Provider<NativeModule> {
+        private final String name;
+
+        private final ReactApplicationContext reactContext;
+
+        NativeModuleProvider(String name, ReactApplicationContext reactContext) {
+            this.name = name;
+            this.reactContext = reactContext;
+        }
+
+        @Override
+        public NativeModule get() {
+            long start = System.nanoTime();
+            NativeModule module = createNativeModule(name, reactContext);
+
+            NativeModuleTimings.onModuleCreated(name, System.nanoTime() - start);
+
+            return module;
+        }
     }
 }
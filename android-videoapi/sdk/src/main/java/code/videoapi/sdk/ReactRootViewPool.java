@@ -0,0 +1,194 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.ReactRootView;
+import com.facebook.react.bridge.UiThreadUtil;
+
+import code.videoapi.sdk.log.VideoAPILogger;
+
+/**
+ * Keeps the {@link ReactRootView} of a disposed {@link BaseReactView} mounted
+ * for a while, so that the next {@link BaseReactView} running the same app can
+ * reuse it instead of mounting the whole app again. At most one root view is
+ * kept, and it's unmounted once it's been idle for too long.
+ *
+ * All methods MUST be called on the UI thread.
+ */
+final class ReactRootViewPool {
+    private static final String TAG = ReactRootViewPool.class.getSimpleName();
+
+    /**
+     * Default time after which an idle root view is unmounted, in
+     * milliseconds.
+     */
+    static final long DEFAULT_IDLE_TIMEOUT = 5 * 60 * 1000;
+
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Whether root views should be kept for reuse at all.
+     */
+    private static boolean enabled;
+
+    /**
+     * Time after which an idle root view is unmounted, in milliseconds.
+     */
+    private static long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+    /**
+     * The idle root view, if any.
+     */
+    private static ReactRootView idleView;
+
+    /**
+     * The name of the app mounted in {@link #idleView}.
+     */
+    private static String idleAppName;
+
+    private static final Runnable unmountIdleView = new Runnable() {
+        @Override
+        public void run() {
+            VideoAPILogger.i(TAG + " Unmounting idle root view");
+            clear();
+        }
+    };
+
+    private ReactRootViewPool() {
+    }
+
+    /**
+     * Creates a new {@link ReactRootView}. When the pool is enabled, the view
+     * is suitable for reuse i.e. its {@code Context} can be switched to
+     * another {@code Activity}. Otherwise it gets the given context as is.
+     *
+     * @param context the {@code Context} of the view which will host it.
+     * @return a new {@link ReactRootView}.
+     */
+    static ReactRootView create(Context context) {
+        return new ReactRootView(enabled ? new MutableContextWrapper(context) : context);
+    }
+
+    /**
+     * Takes the idle root view running the given app, if any.
+     *
+     * @param context the {@code Context} of the view which will host it.
+     * @param appName the name of the app the root view must be running.
+     * @return the mounted {@link ReactRootView}, or {@code null}.
+     */
+    static ReactRootView acquire(Context context, String appName) {
+        UiThreadUtil.assertOnUiThread();
+
+        if (idleView == null || !idleAppName.equals(appName)) {
+            return null;
+        }
+
+        ReactRootView view = idleView;
+
+        handler.removeCallbacks(unmountIdleView);
+        idleView = null;
+        idleAppName = null;
+        setBaseContext(view, context);
+
+        VideoAPILogger.d(TAG + " Reusing root view for " + appName);
+
+        return view;
+    }
+
+    /**
+     * Offers a root view which is no longer needed for reuse. If the pool
+     * doesn't take it, the caller is responsible for unmounting it.
+     *
+     * @param view the {@link ReactRootView}, already removed from its parent.
+     * @param appName the name of the app mounted in the view.
+     * @return {@code true} if the view was kept; {@code false}, otherwise.
+     */
+    static boolean release(ReactRootView view, String appName) {
+        UiThreadUtil.assertOnUiThread();
+
+        if (!enabled || !(view.getContext() instanceof MutableContextWrapper)) {
+            return false;
+        }
+
+        Context appContext = view.getContext().getApplicationContext();
+        ActivityManager am
+            = (ActivityManager) appContext.getSystemService(Context.ACTIVITY_SERVICE);
+
+        // Don't hold on to a whole app on devices short on memory.
+        if (am == null || am.isLowRamDevice()) {
+            return false;
+        }
+
+        clear();
+
+        // Don't leak the Activity the view was last hosted in.
+        setBaseContext(view, appContext);
+        idleView = view;
+        idleAppName = appName;
+        handler.postDelayed(unmountIdleView, idleTimeout);
+
+        return true;
+    }
+
+    /**
+     * Unmounts the idle root view, if any.
+     */
+    static void clear() {
+        UiThreadUtil.assertOnUiThread();
+
+        handler.removeCallbacks(unmountIdleView);
+
+        if (idleView != null) {
+            idleView.unmountReactApplication();
+            idleView = null;
+            idleAppName = null;
+        }
+    }
+
+    /**
+     * Sets whether root views should be kept for reuse.
+     *
+     * @param enabled {@code true} to keep root views for reuse.
+     */
+    static void setEnabled(boolean enabled) {
+        UiThreadUtil.assertOnUiThread();
+
+        ReactRootViewPool.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    /**
+     * Sets the time after which an idle root view is unmounted.
+     *
+     * @param timeout the timeout in milliseconds.
+     */
+    static void setIdleTimeout(long timeout) {
+        idleTimeout = timeout;
+    }
+
+    private static void setBaseContext(ReactRootView view, Context context) {
+        ((MutableContextWrapper) view.getContext()).setBaseContext(context);
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts the {@link ReadableMap}s received from JS to plain Java
+ * collections, using the type of each value instead of trying getters:
+ * - Null: {@code null}
+ * - Boolean: {@link Boolean}
+ * - Number: {@link Double}, JS has no integers
+ * - String: {@link String}
+ * - Map: {@link HashMap}
+ * - Array: {@link ArrayList}
+ */
+final class ReadableMapConverter {
+    private ReadableMapConverter() {
+    }
+
+    /**
+     * Converts a {@link ReadableMap} and all the maps and arrays nested in it.
+     *
+     * @param readableMap the {@link ReadableMap} to convert.
+     * @return a new {@link HashMap} with the same key-value associations.
+     */
+    static HashMap<String, Object> toHashMap(ReadableMap readableMap) {
+        HashMap<String, Object> hashMap = new HashMap<>();
+
+        for (ReadableMapKeySetIterator i = readableMap.keySetIterator();
+                i.hasNextKey();) {
+            String key = i.nextKey();
+
+            hashMap.put(key, getValue(readableMap, key));
+        }
+
+        return hashMap;
+    }
+
+    /**
+     * Converts a {@link ReadableArray} and all the maps and arrays nested in
+     * it.
+     *
+     * @param readableArray the {@link ReadableArray} to convert.
+     * @return a new {@link ArrayList} with the same values.
+     */
+    static ArrayList<Object> toArrayList(ReadableArray readableArray) {
+        int size = readableArray.size();
+        ArrayList<Object> arrayList = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            switch (readableArray.getType(i)) {
+            case Boolean:
+                arrayList.add(readableArray.getBoolean(i));
+                break;
+            case Number:
+                arrayList.add(readableArray.getDouble(i));
+                break;
+            case String:
+                arrayList.add(readableArray.getString(i));
+                break;
+            case Map:
+                arrayList.add(toHashMap(readableArray.getMap(i)));
+                break;
+            case Array:
+                arrayList.add(toArrayList(readableArray.getArray(i)));
+                break;
+            default:
+                arrayList.add(null);
+                break;
+            }
+        }
+
+        return arrayList;
+    }
+
+    /**
+     * Wraps a {@link ReadableMap} in a {@link Map} which only converts the
+     * values which are read. The whole map is converted the first time it's
+     * iterated or modified. A value is converted once, so reading it again,
+     * through {@link Map#get} or the entries, returns the same object.
+     * Nested maps are converted to {@link HashMap}s.
+     *
+     * @param readableMap the {@link ReadableMap} to wrap.
+     * @return a {@link Map} with the same key-value associations.
+     */
+    static Map<String, Object> toLazyMap(ReadableMap readableMap) {
+        return new LazyMap(readableMap);
+    }
+
+    /**
+     * Converts a value of a {@link ReadableMap}.
+     *
+     * @param readableMap the {@link ReadableMap} holding the value.
+     * @param key the key of the value.
+     * @return the converted value.
+     */
+    private static Object getValue(ReadableMap readableMap, String key) {
+        switch (readableMap.getType(key)) {
+        case Boolean:
+            return readableMap.getBoolean(key);
+        case Number:
+            return readableMap.getDouble(key);
+        case String:
+            return readableMap.getString(key);
+        case Map:
+            return toHashMap(readableMap.getMap(key));
+        case Array:
+            return toArrayList(readableMap.getArray(key));
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * {@link Map} view of a {@link ReadableMap} which converts values on
+     * access. Not thread safe, like {@link HashMap}.
+     */
+    private static final class LazyMap extends AbstractMap<String, Object> {
+        private final ReadableMap source;
+
+        /**
+         * The values converted so far, by key.
+         */
+        private final HashMap<String, Object> values = new HashMap<>();
+
+        /**
+         * Whether {@link #values} holds all the values of {@link #source}.
+         */
+        private boolean materialized;
+
+        LazyMap(ReadableMap source) {
+            this.source = source;
+        }
+
+        private HashMap<String, Object> materialize() {
+            if (!materialized) {
+                for (ReadableMapKeySetIterator i = source.keySetIterator();
+                        i.hasNextKey();) {
+                    String key = i.nextKey();
+
+                    if (!values.containsKey(key)) {
+                        values.put(key, getValue(source, key));
+                    }
+                }
+                materialized = true;
+            }
+
+            return values;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (materialized) {
+                return values.containsKey(key);
+            }
+
+            return key instanceof String && source.hasKey((String) key);
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (materialized || values.containsKey(key)) {
+                return values.get(key);
+            }
+            if (!(key instanceof String) || !source.hasKey((String) key)) {
+                return null;
+            }
+
+            Object value = getValue(source, (String) key);
+
+            values.put((String) key, value);
+
+            return value;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return materialize().put(key, value);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return materialize().entrySet();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import android.os.SystemClock;
+import android.os.Trace;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records when the phases of the path from launching the SDK to joining a
+ * conference start and end. Only the first occurrence of each phase is kept,
+ * so the phases paid once per React Native instance (e.g. loading the native
+ * libraries) remain visible for subsequent conferences. They are forgotten
+ * when the instance is destroyed, so a re-warm is measured again.
+ */
+final class StartupTrace {
+    /**
+     * The phases which are specific to joining a conference, and are thus
+     * forgotten when a new conference is being joined.
+     */
+    private static final List<String> CONFERENCE_SECTIONS = Arrays.asList(
+        VideoAPIStartupMetrics.LAUNCH,
+        VideoAPIStartupMetrics.JOIN,
+        VideoAPIStartupMetrics.CREATE_REACT_ROOT_VIEW,
+        VideoAPIStartupMetrics.CONFERENCE_WILL_JOIN,
+        VideoAPIStartupMetrics.CONFERENCE_JOINED);
+
+    /**
+     * The phases which are specific to creating the React Native instance,
+     * and are thus forgotten when it's destroyed.
+     */
+    private static final List<String> INSTANCE_SECTIONS = Arrays.asList(
+        VideoAPIStartupMetrics.INIT_REACT_INSTANCE_MANAGER,
+        VideoAPIStartupMetrics.SOLOADER_INIT,
+        VideoAPIStartupMetrics.REACT_CONTEXT_READY);
+
+    /**
+     * Start times of the phases, in {@link SystemClock#elapsedRealtime()}
+     * milliseconds, by phase name.
+     */
+    private static final ConcurrentHashMap<String, Long> starts = new ConcurrentHashMap<>();
+
+    /**
+     * End times of the phases, in {@link SystemClock#elapsedRealtime()}
+     * milliseconds, by phase name.
+     */
+    private static final ConcurrentHashMap<String, Long> ends = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the phases should also be reported as {@link Trace} sections.
+     */
+    private static volatile boolean systraceEnabled;
+
+    private StartupTrace() {
+    }
+
+    /**
+     * Records the start of the given phase. Every call MUST be matched by a
+     * call to {@link #end(String)} on the same thread.
+     *
+     * @param section the name of the phase.
+     */
+    static void begin(String section) {
+        if (systraceEnabled) {
+            Trace.beginSection("VideoAPI:" + section);
+        }
+
+        starts.putIfAbsent(section, SystemClock.elapsedRealtime());
+    }
+
+    /**
+     * Records the end of the given phase.
+     *
+     * @param section the name of the phase.
+     */
+    static void end(String section) {
+        ends.putIfAbsent(section, SystemClock.elapsedRealtime());
+
+        if (systraceEnabled) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Records an instantaneous event.
+     *
+     * @param event the name of the event.
+     */
+    static void mark(String event) {
+        long now = SystemClock.elapsedRealtime();
+
+        // Only the thread which recorded the start records the end, so they
+        // belong to the same occurrence.
+        if (starts.putIfAbsent(event, now) == null) {
+            ends.put(event, now);
+        }
+    }
+
+    /**
+     * Starts tracing the joining of a new conference, forgetting the
+     * conference specific phases of the previous one, if it was joined.
+     *
+     * @param event the name of the event which starts the join, either
+     * {@link VideoAPIStartupMetrics#LAUNCH} or {@link VideoAPIStartupMetrics#JOIN}.
+     */
+    static synchronized void startJoin(String event) {
+        if (event.equals(VideoAPIStartupMetrics.LAUNCH)
+                || starts.containsKey(VideoAPIStartupMetrics.CONFERENCE_JOINED)) {
+            for (String section : CONFERENCE_SECTIONS) {
+                starts.remove(section);
+                ends.remove(section);
+            }
+        }
+
+        mark(event);
+    }
+
+    /**
+     * Forgets the phases of creating the React Native instance, because it
+     * was destroyed and will be created again.
+     */
+    static synchronized void onInstanceDestroyed() {
+        for (String section : INSTANCE_SECTIONS) {
+            starts.remove(section);
+            ends.remove(section);
+        }
+    }
+
+    /**
+     * Sets whether the phases should also be reported as {@link Trace}
+     * sections, for use with systrace / Perfetto.
+     *
+     * @param enabled {@code true} to report {@link Trace} sections.
+     */
+    static void setSystraceEnabled(boolean enabled) {
+        systraceEnabled = enabled;
+    }
+
+    /**
+     * Gets a snapshot of the phases recorded so far.
+     *
+     * @return a new {@link VideoAPIStartupMetrics} instance.
+     */
+    static VideoAPIStartupMetrics getMetrics() {
+        return new VideoAPIStartupMetrics(
+            starts,
+            ends,
+            NativeModuleTimings.getCreationTimes(),
+            NativeModuleTimings.getSkippedModules());
+    }
+}
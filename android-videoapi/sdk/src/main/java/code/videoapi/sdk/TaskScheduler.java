@@ -0,0 +1,265 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.os.SystemClock;
+
+import code.videoapi.sdk.log.VideoAPILogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the work of the SDK's native modules off the UI and bridge threads, on
+ * one thread per {@link Lane}. Each lane has a thread priority and, unless
+ * losing work is not an option, a bounded queue: work posted to a full lane
+ * is rejected rather than piling up. The
+ * threads are started on first use and stopped along with the React Native
+ * instance. Public only so that the modules in the SDK's subpackages can use
+ * it.
+ */
+public final class TaskScheduler {
+    private static final String TAG = TaskScheduler.class.getSimpleName();
+
+    /**
+     * The capacity of the lanes whose queue is not bounded.
+     */
+    static final int UNBOUNDED = 0;
+
+    /**
+     * The lanes, from the most to the least urgent.
+     * - AUDIO: audio mode and routing. Unbounded, dropping a route change
+     *   would leave the audio on the wrong device.
+     * - NETWORK: blocking network requests, e.g. Dropbox or DNS lookups.
+     * - IO: reading system state, e.g. the WiFi stats.
+     * - BACKGROUND: anything which can wait.
+     */
+    public enum Lane {
+        AUDIO("audio", Process.THREAD_PRIORITY_AUDIO, UNBOUNDED),
+        NETWORK("network", Process.THREAD_PRIORITY_DEFAULT, 32),
+        IO("io", Process.THREAD_PRIORITY_BACKGROUND, 32),
+        BACKGROUND("background", Process.THREAD_PRIORITY_LOWEST, 16);
+
+        final String name;
+        final int priority;
+        final int capacity;
+
+        Lane(String name, int priority, int capacity) {
+            this.name = name;
+            this.priority = priority;
+            this.capacity = capacity;
+        }
+    }
+
+    private static final LaneExecutor[] executors;
+
+    static {
+        Lane[] lanes = Lane.values();
+
+        executors = new LaneExecutor[lanes.length];
+        for (Lane lane : lanes) {
+            executors[lane.ordinal()] = new LaneExecutor(lane);
+        }
+    }
+
+    private TaskScheduler() {
+    }
+
+    /**
+     * Runs a task on a lane.
+     *
+     * @param lane the {@link Lane} to run the task on.
+     * @param task the task.
+     * @return {@code true} if the task was queued, {@code false} if it was
+     * rejected because the lane is full. Never rejected on an
+     * {@link #UNBOUNDED} lane.
+     */
+    public static boolean execute(Lane lane, Runnable task) {
+        return schedule(lane, task, 0);
+    }
+
+    /**
+     * Runs a task on a lane after a delay. The task counts against the
+     * capacity of the lane while it waits.
+     *
+     * @param lane the {@link Lane} to run the task on.
+     * @param task the task.
+     * @param delay the delay in milliseconds.
+     * @return {@code true} if the task was queued, {@code false} if it was
+     * rejected because the lane is full. Never rejected on an
+     * {@link #UNBOUNDED} lane.
+     */
+    public static boolean schedule(Lane lane, Runnable task, long delay) {
+        return executors[lane.ordinal()].schedule(task, delay);
+    }
+
+    /**
+     * Stops the threads of all lanes once the tasks which are due have run.
+     * Delayed tasks which are not due yet are dropped. A lane is started again
+     * when it's next used.
+     */
+    static void shutdown() {
+        for (LaneExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    static VideoAPISchedulerMetrics getMetrics() {
+        List<VideoAPISchedulerMetrics.Lane> lanes = new ArrayList<>(executors.length);
+
+        for (LaneExecutor executor : executors) {
+            lanes.add(executor.getMetrics());
+        }
+
+        return new VideoAPISchedulerMetrics(lanes);
+    }
+
+    /**
+     * The thread of a lane. A new one is used after each shutdown, so the
+     * tasks of a stopped thread don't skew the queue depth of its successor.
+     */
+    private static final class Worker {
+        final HandlerThread thread;
+        final Handler handler;
+        final AtomicInteger queueDepth = new AtomicInteger();
+
+        Worker(Lane lane) {
+            thread = new HandlerThread("VideoAPI-" + lane.name, lane.priority);
+            thread.start();
+            handler = new Handler(thread.getLooper());
+        }
+    }
+
+    private static final class LaneExecutor {
+        private final Lane lane;
+
+        private Worker worker;
+
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+        private final AtomicLong executedCount = new AtomicLong();
+
+        private final AtomicLong rejectedCount = new AtomicLong();
+
+        /**
+         * The time tasks waited past their due time before running.
+         */
+        private final VideoAPILatencyHistogram queueLatencies = new VideoAPILatencyHistogram();
+
+        LaneExecutor(Lane lane) {
+            this.lane = lane;
+        }
+
+        private synchronized Worker getWorker() {
+            if (worker == null) {
+                worker = new Worker(lane);
+            }
+
+            return worker;
+        }
+
+        synchronized void shutdown() {
+            if (worker != null) {
+                worker.thread.quitSafely();
+                worker = null;
+            }
+        }
+
+        boolean schedule(Runnable task, long delay) {
+            Worker worker = getWorker();
+
+            while (true) {
+                int result = schedule(worker, task, delay);
+
+                if (result >= 0) {
+                    return result > 0;
+                }
+
+                // The thread was stopped in the meantime, post to its
+                // successor.
+                worker = getWorker();
+            }
+        }
+
+        /**
+         * Posts a task to a worker.
+         *
+         * @return 1 if the task was posted, 0 if it was rejected because the
+         * lane is full and -1 if the worker was stopped.
+         */
+        private int schedule(final Worker worker, final Runnable task, long delay) {
+            int depth = worker.queueDepth.incrementAndGet();
+
+            if (lane.capacity != UNBOUNDED && depth > lane.capacity) {
+                worker.queueDepth.decrementAndGet();
+                rejectedCount.incrementAndGet();
+                VideoAPILogger.w(TAG + " Lane " + lane.name + " is full, rejecting task");
+                return 0;
+            }
+
+            int max;
+
+            while (depth > (max = maxQueueDepth.get()) && !maxQueueDepth.compareAndSet(max, depth)) {
+                // Retry.
+            }
+
+            final long due = SystemClock.uptimeMillis() + delay;
+            boolean posted = worker.handler.postAtTime(new Runnable() {
+                @Override
+                public void run() {
+                    worker.queueDepth.decrementAndGet();
+                    queueLatencies.record(SystemClock.uptimeMillis() - due);
+                    try {
+                        task.run();
+                    } finally {
+                        executedCount.incrementAndGet();
+                    }
+                }
+            }, due);
+
+            if (!posted) {
+                worker.queueDepth.decrementAndGet();
+
+                return -1;
+            }
+
+            return 1;
+        }
+
+        VideoAPISchedulerMetrics.Lane getMetrics() {
+            Worker worker;
+
+            synchronized (this) {
+                worker = this.worker;
+            }
+
+            return new VideoAPISchedulerMetrics.Lane(
+                lane.name,
+                worker == null ? 0 : worker.queueDepth.get(),
+                maxQueueDepth.get(),
+                lane.capacity,
+                executedCount.get(),
+                rejectedCount.get(),
+                queueLatencies);
+        }
+    }
+}
@@ -16,17 +16,35 @@
 package code.videoapi.sdk;
 
 import android.app.Activity;
+import android.app.Application;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 
+import androidx.annotation.Nullable;
+
 import com.facebook.react.ReactInstanceManager;
 
 import org.devio.rn.splashscreen.SplashScreen;
 import code.videoapi.sdk.log.VideoAPILogger;
 
+import java.util.List;
+import java.util.Map;
+
 public class VideoAPI {
 
+    /**
+     * The JavaScript engines the SDK can run on. The default is Hermes when
+     * it's built in, JSC otherwise.
+     * - JSC: JavaScriptCore.
+     * - HERMES: Hermes, which starts faster and uses less memory. Only
+     *   available when the SDK is built with Hermes enabled.
+     */
+    public enum JSEngine {
+        JSC,
+        HERMES
+    }
+
     /**
      * Default {@link VideoAPIConferenceOptions} which will be used for all conferences. When
      * joining a conference these options will be merged with the ones passed to
@@ -34,6 +52,13 @@ public class VideoAPI {
      */
     private static VideoAPIConferenceOptions defaultConferenceOptions;
 
+    /**
+     * {@link VideoAPIVideoCodecPolicy} used when creating the WebRTC video
+     * encoders and decoders.
+     */
+    private static volatile VideoAPIVideoCodecPolicy videoCodecPolicy
+        = VideoAPIVideoCodecPolicy.DEFAULT;
+
     public static VideoAPIConferenceOptions getDefaultConferenceOptions() {
         return defaultConferenceOptions;
     }
@@ -42,6 +67,215 @@ public class VideoAPI {
         defaultConferenceOptions = options;
     }
 
+    /**
+     * Gets the {@link VideoAPIVideoCodecPolicy} used for the WebRTC video
+     * encoders and decoders.
+     *
+     * @return the current {@link VideoAPIVideoCodecPolicy}.
+     */
+    public static VideoAPIVideoCodecPolicy getVideoCodecPolicy() {
+        return videoCodecPolicy;
+    }
+
+    /**
+     * Sets the {@link VideoAPIVideoCodecPolicy} used for the WebRTC video
+     * encoders and decoders. The codecs are set up once per React Native
+     * runtime, so the policy MUST be set before the first conference is
+     * joined, typically along with {@link #prewarm(Application)}.
+     *
+     * @param policy - The {@link VideoAPIVideoCodecPolicy} to use.
+     */
+    public static void setVideoCodecPolicy(VideoAPIVideoCodecPolicy policy) {
+        videoCodecPolicy = policy != null ? policy : VideoAPIVideoCodecPolicy.DEFAULT;
+    }
+
+    /**
+     * Sets whether the {@code Map}s passed to the listeners (e.g.
+     * {@link VideoAPIViewListener}) convert the event data lazily, so a
+     * listener which only reads a few keys doesn't pay for the whole event.
+     * Such maps are converted entirely when iterated or modified and MUST
+     * only be used on the thread the listener was called on.
+     *
+     * @param enabled - {@code true} to convert the event data on access.
+     */
+    public static void setLazyEventDataEnabled(boolean enabled) {
+        ListenerUtils.lazyEventData = enabled;
+    }
+
+    /**
+     * Gets the number of events sent from native code to JavaScript.
+     *
+     * @return the number of events.
+     */
+    public static long getEmittedEventCount() {
+        return JSEventEmitter.getEventCount();
+    }
+
+    /**
+     * Gets the number of bridge calls used to send events to JavaScript,
+     * lower than {@link #getEmittedEventCount()} when events were batched.
+     *
+     * @return the number of bridge calls.
+     */
+    public static long getEmitBridgeCallCount() {
+        return JSEventEmitter.getBridgeCallCount();
+    }
+
+    /**
+     * Gets the estimated size of the data of the events sent to JavaScript,
+     * in characters of JSON. The size is only estimated while the bridge
+     * metrics are enabled through {@link #setBridgeMetricsEnabled(boolean)},
+     * the events sent meanwhile count as 0.
+     *
+     * @return the estimated payload size.
+     */
+    public static long getEmittedPayloadSize() {
+        return JSEventEmitter.getPayloadSize();
+    }
+
+    /**
+     * Gets the round-trip latencies of the commands sent through
+     * {@link VideoAPICommandBridgeModule#sendCommand}, by command name.
+     *
+     * @return the latency histograms.
+     */
+    public static Map<String, VideoAPILatencyHistogram> getCommandLatencies() {
+        return VideoAPICommandBridgeModule.getCommandLatencies();
+    }
+
+    /**
+     * Gets the calls and events which crossed the React Native bridge through
+     * the SDK's native modules, with their payload sizes and the time spent
+     * dispatching them. Empty unless enabled through
+     * {@link #setBridgeMetricsEnabled(boolean)}.
+     *
+     * @return A {@link VideoAPIBridgeMetrics} snapshot.
+     */
+    public static VideoAPIBridgeMetrics getBridgeMetrics() {
+        return BridgeMetrics.getMetrics();
+    }
+
+    /**
+     * Sets whether the bridge traffic is counted. Disabled by default, the
+     * payloads are walked to estimate their size, which allocates and costs
+     * time on the bridge and UI threads.
+     *
+     * @param enabled - {@code true} to count the bridge traffic.
+     */
+    public static void setBridgeMetricsEnabled(boolean enabled) {
+        BridgeMetrics.setEnabled(enabled);
+    }
+
+    /**
+     * Sets the interval at which the {@link VideoAPIBridgeMetrics} are logged,
+     * 0 (the default) to not log them.
+     *
+     * @param interval - The interval, in milliseconds.
+     */
+    public static void setBridgeMetricsLogInterval(long interval) {
+        BridgeMetrics.setLogInterval(interval);
+    }
+
+    /**
+     * Gets the state of the lanes the SDK's native modules run their work on,
+     * with their queue depths and queue latencies.
+     *
+     * @return A {@link VideoAPISchedulerMetrics} snapshot.
+     */
+    public static VideoAPISchedulerMetrics getSchedulerMetrics() {
+        return TaskScheduler.getMetrics();
+    }
+
+    /**
+     * Sets the window over which bursts of audio device changes, e.g. the
+     * several callbacks fired when a Bluetooth headset or a USB dock is
+     * plugged in, are collapsed into a single device scan and audio route
+     * update. Defaults to 250 milliseconds.
+     *
+     * @param debounce - The window, in milliseconds, 0 to not wait for more
+     * changes.
+     */
+    public static void setAudioDeviceChangeDebounce(long debounce) {
+        AudioModeModule.setDeviceChangeDebounce(debounce);
+    }
+
+    /**
+     * Gets the number of audio device changes which were collapsed into an
+     * already scheduled device scan.
+     *
+     * @return the number of collapsed changes.
+     */
+    public static long getCollapsedAudioDeviceChangeCount() {
+        return AudioModeModule.getCollapsedDeviceChanges();
+    }
+
+    /**
+     * Gets how long audio route switches took, from the request (or the
+     * device change which triggered them) until the route was reported active,
+     * by device e.g. "BLUETOOTH". Switches which didn't complete within 5
+     * seconds are counted as failures.
+     *
+     * @return the latency histograms.
+     */
+    public static Map<String, VideoAPILatencyHistogram> getAudioRouteLatencies() {
+        return AudioRouteTracer.getLatencies();
+    }
+
+    /**
+     * Sets the {@link VideoAPIAudioRoutingPolicy} of audio only calls, which
+     * decides the audio device unless the user selected one. Defaults to
+     * Bluetooth, then headphones, then the speaker.
+     *
+     * @param policy - The policy, {@code null} for the default one.
+     */
+    public static void setAudioCallRoutingPolicy(VideoAPIAudioRoutingPolicy policy) {
+        AudioModeModule.setRoutingPolicy(AudioModeModule.AUDIO_CALL, policy);
+    }
+
+    /**
+     * Sets the {@link VideoAPIAudioRoutingPolicy} of video calls, which
+     * decides the audio device unless the user selected one. Defaults to
+     * Bluetooth, then headphones, then the speaker.
+     *
+     * @param policy - The policy, {@code null} for the default one.
+     */
+    public static void setVideoCallRoutingPolicy(VideoAPIAudioRoutingPolicy policy) {
+        AudioModeModule.setRoutingPolicy(AudioModeModule.VIDEO_CALL, policy);
+    }
+
+    /**
+     * Sets how long a device must have been available before the audio is
+     * routed to it, away from a device which still works. Devices which come
+     * and go faster than that, e.g. a flaky Bluetooth headset, then don't make
+     * the route flap. The user's selection is applied right away. Defaults to
+     * 1500 milliseconds.
+     *
+     * @param minDwell - The time, in milliseconds, 0 to switch right away.
+     */
+    public static void setAudioRouteMinDwell(long minDwell) {
+        AudioModeModule.setRouteMinDwell(minDwell);
+    }
+
+    /**
+     * Gets the number of audio route switches which were made.
+     *
+     * @return the number of switches.
+     */
+    public static long getAudioRouteSwitchCount() {
+        return AudioModeModule.getRouteSwitches();
+    }
+
+    /**
+     * Gets the number of audio route switches which were held back, because
+     * the device wasn't available for long enough. See
+     * {@link #setAudioRouteMinDwell(long)}.
+     *
+     * @return the number of avoided switches.
+     */
+    public static long getAvoidedAudioRouteSwitchCount() {
+        return AudioModeModule.getAvoidedRouteSwitches();
+    }
+
     /**
      * Returns the current conference URL as a string.
      *
@@ -51,6 +285,16 @@ public class VideoAPI {
         return OngoingConferenceTracker.getInstance().getCurrentConference();
     }
 
+    /**
+     * Gets the state of the ongoing conferences, one per {@link VideoAPIView}
+     * at most, and of the ones which were terminated last.
+     *
+     * @return the {@link VideoAPIConferenceInfo}s, terminated ones first.
+     */
+    public static List<VideoAPIConferenceInfo> getConferences() {
+        return OngoingConferenceTracker.getInstance().getConferences();
+    }
+
     /**
      * Helper to get the default conference options as a {@link Bundle}.
      *
@@ -64,6 +308,132 @@ public class VideoAPI {
         return new Bundle();
     }
 
+    /**
+     * Gets the JavaScript engine the SDK runs, or will run, on.
+     *
+     * @return the {@link JSEngine}.
+     */
+    public static JSEngine getJSEngine() {
+        return ReactInstanceManagerHolder.getJSEngine();
+    }
+
+    /**
+     * Selects the JavaScript engine the SDK runs on. MUST be called before
+     * {@link #prewarm(Application)} or the creation of the first
+     * {@link VideoAPIView}.
+     *
+     * @param engine - The {@link JSEngine} to use.
+     * @throws IllegalStateException if the runtime has already been
+     * initialized.
+     * @throws IllegalArgumentException if the engine is not usable with this
+     * build of the SDK.
+     */
+    public static void setJSEngine(JSEngine engine) {
+        ReactInstanceManagerHolder.setJSEngine(engine);
+    }
+
+    /**
+     * Initializes the React Native runtime and starts loading the JavaScript
+     * bundle in the background, so that the first {@link VideoAPIView} doesn't
+     * pay the full cold start cost. Typically called from
+     * {@code Application#onCreate}. Calling it more than once is harmless. It
+     * may also be used to re-warm the runtime after it was torn down because
+     * the system was short on memory, see {@link #getMemoryTeardownCount()}.
+     *
+     * @param application - The {@link Application} the SDK is running in.
+     */
+    public static void prewarm(Application application) {
+        prewarm(application, null);
+    }
+
+    /**
+     * Same as {@link #prewarm(Application)} but allows to get notified once the
+     * React Native runtime is ready.
+     *
+     * @param application - The {@link Application} the SDK is running in.
+     * @param onReady - {@link Runnable} which will be run on the UI thread once
+     * the React Native runtime is ready, or right away if it already is.
+     */
+    public static void prewarm(Application application, @Nullable Runnable onReady) {
+        ReactInstanceManagerHolder.prewarm(application, onReady);
+    }
+
+    /**
+     * Tells whether the React Native runtime is ready i.e. whether joining a
+     * conference will not have to wait for the JavaScript bundle to load.
+     *
+     * @return {@code true} if the runtime is ready; {@code false}, otherwise.
+     */
+    public static boolean isReady() {
+        return ReactInstanceManagerHolder.isReady();
+    }
+
+    /**
+     * Gets the time spent in the phases between launching the SDK and joining
+     * the current (or last) conference.
+     *
+     * @return A {@link VideoAPIStartupMetrics} snapshot.
+     */
+    public static VideoAPIStartupMetrics getStartupMetrics() {
+        return StartupTrace.getMetrics();
+    }
+
+    /**
+     * Sets whether the startup phases should also be reported as
+     * {@link android.os.Trace} sections, so they show up in systrace / Perfetto
+     * captures.
+     *
+     * @param enabled - {@code true} to report the trace sections.
+     */
+    public static void setStartupSystraceEnabled(boolean enabled) {
+        StartupTrace.setSystraceEnabled(enabled);
+    }
+
+    /**
+     * Sets whether the React app should be kept mounted, in an idle state,
+     * when a {@link VideoAPIView} which is not in a conference is disposed. The
+     * next {@link VideoAPIView} will then reuse it, making joining faster for
+     * users who join conferences back to back. Only one app is kept, it's not
+     * kept on low RAM devices and it's unmounted after the timeout set with
+     * {@link #setReactRootViewReuseTimeout(long)}. Disabled by default. MUST be
+     * called on the UI thread.
+     *
+     * @param enabled - {@code true} to reuse the React app between conferences.
+     */
+    public static void setReactRootViewReuseEnabled(boolean enabled) {
+        ReactRootViewPool.setEnabled(enabled);
+    }
+
+    /**
+     * Sets how long an idle React app is kept mounted for reuse. Defaults to 5
+     * minutes.
+     *
+     * @param timeout - The timeout, in milliseconds.
+     */
+    public static void setReactRootViewReuseTimeout(long timeout) {
+        ReactRootViewPool.setIdleTimeout(timeout);
+    }
+
+    /**
+     * Gets how many times the React Native runtime was torn down because the
+     * system was short on memory while no conference was running.
+     *
+     * @return The number of teardowns.
+     */
+    public static int getMemoryTeardownCount() {
+        return MemoryPressureMonitor.getTeardownCount();
+    }
+
+    /**
+     * Gets an estimate of the memory released by tearing the React Native
+     * runtime down when the system was short on memory.
+     *
+     * @return The released memory, in bytes.
+     */
+    public static long getMemoryReleasedByTeardowns() {
+        return MemoryPressureMonitor.getReleasedBytes();
+    }
+
     /**
      * Used in development mode. It displays the React Native development menu.
      */
@@ -47,6 +47,8 @@ public class VideoAPIActivity extends FragmentActivity
     //
 
     public static void launch(Context context, VideoAPIConferenceOptions options) {
+        StartupTrace.startJoin(VideoAPIStartupMetrics.LAUNCH);
+
         Intent intent = new Intent(context, VideoAPIActivity.class);
         intent.setAction(ACTION_VIDEOAPI_CONFERENCE);
         intent.putExtra(VIDEOAPI_CONFERENCE_OPTIONS, options);
@@ -0,0 +1,44 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+/**
+ * Decides which audio device a call is routed to, unless the user selected
+ * one. Set per call type with
+ * {@link VideoAPI#setAudioCallRoutingPolicy(VideoAPIAudioRoutingPolicy)} and
+ * {@link VideoAPI#setVideoCallRoutingPolicy(VideoAPIAudioRoutingPolicy)}.
+ * <p>
+ * Devices are bits, so a set of devices is an int mask of them.
+ */
+public interface VideoAPIAudioRoutingPolicy {
+    int BLUETOOTH  = 1;
+    int EARPIECE   = 1 << 1;
+    int HEADPHONES = 1 << 2;
+    int SPEAKER    = 1 << 3;
+
+    /**
+     * Selects the device to route the audio to. Called on the SDK's audio
+     * thread whenever the devices or the call type change, so it MUST be fast
+     * and not block.
+     *
+     * @param availableDevices - The mask of the devices which are available
+     * and working.
+     * @return One of the available devices. Anything else falls back to the
+     * {@link #SPEAKER}.
+     */
+    int selectDevice(int availableDevices);
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.List;
+
+/**
+ * Interface which a listener (e.g. {@link VideoAPIViewListener}) may also
+ * implement to receive the events in batches, instead of one method call per
+ * event. Useful in large meetings, where bursts of events such as
+ * "PARTICIPANT_JOINED" would otherwise trigger a UI update each.
+ */
+public interface VideoAPIBatchedListener {
+    /**
+     * Called with the events received since the last call, in order.
+     *
+     * @param events The events; the list MUST NOT be modified.
+     */
+    void onEvents(List<VideoAPIEvent> events);
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the traffic across the React Native bridge through
+ * the SDK's native modules, per module and method. Obtained through
+ * {@link VideoAPI#getBridgeMetrics()}.
+ * <p>
+ * The events sent to JavaScript are reported under the
+ * {@link #EVENT_EMITTER} module, one method per event name. The events
+ * received from JavaScript through {@code ExternalAPI} are reported per event
+ * name too.
+ */
+public final class VideoAPIBridgeMetrics {
+
+    /**
+     * The pseudo module of the events sent to JavaScript.
+     */
+    public static final String EVENT_EMITTER = "RCTDeviceEventEmitter";
+
+    /**
+     * The traffic of a method of a module.
+     */
+    public static final class Entry {
+        private final String module;
+        private final String method;
+        private final long calls;
+        private final long payloadSize;
+        private final long totalDispatchTime;
+        private final long maxDispatchTime;
+
+        Entry(
+                String module,
+                String method,
+                long calls,
+                long payloadSize,
+                long totalDispatchTime,
+                long maxDispatchTime) {
+            this.module = module;
+            this.method = method;
+            this.calls = calls;
+            this.payloadSize = payloadSize;
+            this.totalDispatchTime = totalDispatchTime;
+            this.maxDispatchTime = maxDispatchTime;
+        }
+
+        public String getModule() {
+            return module;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * Gets the estimated size of the arguments or event data, in
+         * characters of JSON.
+         *
+         * @return the estimated payload size.
+         */
+        public long getPayloadSize() {
+            return payloadSize;
+        }
+
+        /**
+         * Gets the total time spent handling the calls, including the time
+         * spent waiting for a worker thread for asynchronous methods, in
+         * microseconds.
+         *
+         * @return the total dispatch time.
+         */
+        public long getTotalDispatchTime() {
+            return totalDispatchTime;
+        }
+
+        public long getMaxDispatchTime() {
+            return maxDispatchTime;
+        }
+
+        public long getAverageDispatchTime() {
+            return calls == 0 ? 0 : totalDispatchTime / calls;
+        }
+
+        @Override
+        public String toString() {
+            return module + "." + method
+                + " calls=" + calls
+                + " payload=" + payloadSize
+                + " avg=" + getAverageDispatchTime()
+                + "us max=" + maxDispatchTime + "us";
+        }
+    }
+
+    private final List<Entry> entries;
+
+    VideoAPIBridgeMetrics(List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+
+        Collections.sort(sorted, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry a, Entry b) {
+                return Long.compare(b.calls, a.calls);
+            }
+        });
+        this.entries = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Gets the traffic of all methods which were called, most called first.
+     *
+     * @return the entries.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the traffic of a method.
+     *
+     * @param module the name of the module e.g. "AudioMode".
+     * @param method the name of the method.
+     * @return the entry or {@code null} if the method wasn't called.
+     */
+    public Entry getEntry(String module, String method) {
+        for (Entry entry : entries) {
+            if (entry.module.equals(module) && entry.method.equals(method)) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("VideoAPIBridgeMetrics[");
+
+        for (Entry entry : entries) {
+            sb.append("\n  ").append(entry);
+        }
+
+        return sb.append("\n]").toString();
+    }
+}
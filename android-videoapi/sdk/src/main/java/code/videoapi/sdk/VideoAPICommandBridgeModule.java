@@ -2,14 +2,30 @@
 
 package code.videoapi.sdk;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
 
 import code.videoapi.sdk.log.VideoAPILogger;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Module implementing an API for sending events from JavaScript to native code.
  */
@@ -22,9 +38,58 @@ public class VideoAPICommandBridgeModule
     public static final String TOGGLE_AUDIO = "vToggleAudio";
     public static final String RAISE_HAND = "vToggleRaiseHand";
     public static final String TILE_VIEW = "vToggleTileView";
+    public static final String GET_DEVICES_LIST = "vGetDevicesList";
+
+    /**
+     * The commands react/features/videoapi/bridge.js handles. MUST be kept in
+     * sync with react/features/videoapi/commands.js.
+     */
+    private static final Set<String> COMMANDS = new HashSet<>(Arrays.asList(
+        TOGGLE_VIDEO, TOGGLE_AUDIO, RAISE_HAND, TILE_VIEW, GET_DEVICES_LIST));
+
+    /**
+     * The error reported when JavaScript doesn't acknowledge a command in
+     * time.
+     */
+    public static final String ERROR_TIMEOUT = "timeout";
+
+    /**
+     * The error reported right away for a command JavaScript doesn't handle.
+     */
+    public static final String ERROR_UNKNOWN_COMMAND = "unknown command";
+
+    /**
+     * The default time to wait for JavaScript to acknowledge a command, in
+     * milliseconds.
+     */
+    public static final long DEFAULT_COMMAND_TIMEOUT = 5000;
+
+    /**
+     * The key of the correlation ID in the data of the commands.
+     */
+    static final String REQUEST_ID = "requestId";
 
     private static final String TAG = NAME;
 
+    /**
+     * The round-trip latencies of the commands, by command name.
+     */
+    private static final ConcurrentHashMap<String, VideoAPILatencyHistogram> latencies
+        = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger nextRequestId = new AtomicInteger();
+
+    /**
+     * The commands waiting for JavaScript's acknowledgement, by request ID.
+     */
+    private final ConcurrentHashMap<Integer, PendingCommand> pendingCommands
+        = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the timeouts and the callbacks on the UI thread.
+     */
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
     /**
      * Initializes a new module instance. There shall be a single instance of
      * this module throughout the lifetime of the app.
@@ -56,10 +121,180 @@ public class VideoAPICommandBridgeModule
      */
     @ReactMethod
     public void sendEvent(String name, Object data) {
+        long start = BridgeMetrics.start();
+
         ReactInstanceManagerHolder.emitEvent(name, data);
+        BridgeMetrics.record(NAME, "sendEvent", BridgeMetrics.estimateSize(data), start);
+    }
+
+    /**
+     * Sends a command to JavaScript and waits for it to be applied. The data
+     * of the command gets a "requestId" key which JavaScript passes back to
+     * {@link #commandCompleted(int, String)}. A command JavaScript doesn't
+     * handle fails right away with {@link #ERROR_UNKNOWN_COMMAND}.
+     *
+     * @param command The name of the command e.g. {@link #TOGGLE_AUDIO}.
+     * @param data The data of the command, if any. MUST NOT be used afterwards.
+     * @param timeout The time to wait for the acknowledgement, in
+     * milliseconds.
+     * @param callback Notified on the UI thread of the outcome, if not
+     * {@code null}.
+     * @return The {@link VideoAPICommandFuture} completed with the outcome.
+     */
+    public VideoAPICommandFuture sendCommand(
+            String command,
+            @Nullable WritableMap data,
+            long timeout,
+            @Nullable VideoAPICommandCallback callback) {
+        int requestId = nextRequestId.incrementAndGet();
+        final PendingCommand pending
+            = new PendingCommand(
+                new VideoAPICommandFuture(
+                    requestId, command, SystemClock.elapsedRealtime()),
+                callback);
+
+        if (!COMMANDS.contains(command)) {
+            VideoAPILogger.w(TAG + " Unknown command: " + command);
+            pending.complete(ERROR_UNKNOWN_COMMAND);
+
+            return pending.future;
+        }
+
+        pendingCommands.put(requestId, pending);
+        handler.postDelayed(pending, timeout);
+
+        if (data == null) {
+            data = Arguments.createMap();
+        }
+        data.putInt(REQUEST_ID, requestId);
+        ReactInstanceManagerHolder.emitEvent(command, data);
+
+        return pending.future;
+    }
+
+    /**
+     * Sends a command to JavaScript with the default timeout.
+     *
+     * @param command The name of the command e.g. {@link #TOGGLE_AUDIO}.
+     * @param data The data of the command, if any.
+     * @param callback Notified on the UI thread of the outcome, if not
+     * {@code null}.
+     * @return The {@link VideoAPICommandFuture} completed with the outcome.
+     * @see #sendCommand(String, WritableMap, long, VideoAPICommandCallback)
+     */
+    public VideoAPICommandFuture sendCommand(
+            String command,
+            @Nullable WritableMap data,
+            @Nullable VideoAPICommandCallback callback) {
+        return sendCommand(command, data, DEFAULT_COMMAND_TIMEOUT, callback);
+    }
+
+    /**
+     * Called by JavaScript when it applied a command sent through
+     * {@link #sendCommand}.
+     *
+     * @param requestId The correlation ID of the command.
+     * @param error The error, if the command failed.
+     */
+    @ReactMethod
+    public void commandCompleted(int requestId, @Nullable String error) {
+        long start = BridgeMetrics.start();
+        PendingCommand pending = pendingCommands.remove(requestId);
+
+        if (pending == null) {
+            // Timed out already.
+            VideoAPILogger.w(TAG + " Late acknowledgement of command " + requestId);
+            BridgeMetrics.record(
+                NAME, "commandCompleted", BridgeMetrics.estimateSize(error) + 8, start);
+            return;
+        }
+
+        handler.removeCallbacks(pending);
+
+        VideoAPICommandFuture future = pending.future;
+        VideoAPILatencyHistogram histogram = getLatencyHistogram(future.getCommand());
+
+        if (error == null) {
+            histogram.record(SystemClock.elapsedRealtime() - future.getStartTime());
+        } else {
+            histogram.recordFailure();
+        }
+        pending.complete(error);
+        BridgeMetrics.record(
+            NAME, "commandCompleted", BridgeMetrics.estimateSize(error) + 8, start);
+    }
+
+    /**
+     * Gets the round-trip latencies of the commands sent through
+     * {@link #sendCommand}, by command name. A backed up JavaScript thread
+     * shows as growing latencies and timeouts.
+     *
+     * @return The latency histograms.
+     */
+    public static Map<String, VideoAPILatencyHistogram> getCommandLatencies() {
+        return new HashMap<String, VideoAPILatencyHistogram>(latencies);
+    }
+
+    private static VideoAPILatencyHistogram getLatencyHistogram(String command) {
+        VideoAPILatencyHistogram histogram = latencies.get(command);
+
+        if (histogram == null) {
+            VideoAPILatencyHistogram newHistogram = new VideoAPILatencyHistogram();
+
+            histogram = latencies.putIfAbsent(command, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+
+        return histogram;
     }
 
     public static VideoAPICommandBridgeModule getModule() {
         return ReactInstanceManagerHolder.getNativeModule(VideoAPICommandBridgeModule.class);
     }
+
+    /**
+     * A command waiting for JavaScript's acknowledgement. Runs on the UI thread
+     * when it times out.
+     */
+    private final class PendingCommand implements Runnable {
+        final VideoAPICommandFuture future;
+
+        @Nullable
+        private final VideoAPICommandCallback callback;
+
+        PendingCommand(
+                VideoAPICommandFuture future,
+                @Nullable VideoAPICommandCallback callback) {
+            this.future = future;
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            if (pendingCommands.remove(future.getRequestId()) != null) {
+                VideoAPILogger.w(TAG + " Command timed out: " + future.getCommand());
+                getLatencyHistogram(future.getCommand()).recordFailure();
+                complete(ERROR_TIMEOUT);
+            }
+        }
+
+        void complete(@Nullable final String error) {
+            if (!future.complete(error) || callback == null) {
+                return;
+            }
+
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (error == null) {
+                        callback.onCommandCompleted(future.getCommand());
+                    } else {
+                        callback.onCommandFailed(future.getCommand(), error);
+                    }
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+/**
+ * Callback notified on the UI thread of the outcome of a command sent
+ * through {@link VideoAPICommandBridgeModule#sendCommand}.
+ */
+public interface VideoAPICommandCallback {
+    /**
+     * Called when JavaScript applied the command.
+     *
+     * @param command the name of the command.
+     */
+    void onCommandCompleted(String command);
+
+    /**
+     * Called when JavaScript failed to apply the command, or didn't
+     * acknowledge it before the timeout.
+     *
+     * @param command the name of the command.
+     * @param error the error reported by JavaScript, or
+     * {@link VideoAPICommandBridgeModule#ERROR_TIMEOUT}.
+     */
+    void onCommandFailed(String command, String error);
+}
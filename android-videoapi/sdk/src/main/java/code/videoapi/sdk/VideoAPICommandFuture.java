@@ -0,0 +1,142 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The pending result of a command sent through
+ * {@link VideoAPICommandBridgeModule#sendCommand}. It completes with
+ * {@code null} when JavaScript applied the command, or with an
+ * {@link ExecutionException} carrying the error otherwise. MUST NOT be waited
+ * on from the UI or JavaScript threads.
+ */
+public final class VideoAPICommandFuture implements Future<Void> {
+    private final int requestId;
+
+    private final String command;
+
+    private final long startTime;
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    @Nullable
+    private volatile String error;
+
+    private volatile boolean cancelled;
+
+    VideoAPICommandFuture(int requestId, String command, long startTime) {
+        this.requestId = requestId;
+        this.command = command;
+        this.startTime = startTime;
+    }
+
+    /**
+     * Gets the correlation ID sent to JavaScript with the command.
+     *
+     * @return the request ID.
+     */
+    public int getRequestId() {
+        return requestId;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Completes this future, unless it's done already.
+     *
+     * @param error the error or {@code null} on success.
+     * @return {@code true} if this call completed the future.
+     */
+    synchronized boolean complete(@Nullable String error) {
+        if (isDone()) {
+            return false;
+        }
+
+        this.error = error;
+        done.countDown();
+
+        return true;
+    }
+
+    /**
+     * Stops waiting for the acknowledgement of the command. The command may
+     * still be applied by JavaScript.
+     */
+    @Override
+    public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+        if (isDone()) {
+            return false;
+        }
+
+        cancelled = true;
+        done.countDown();
+
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    @Override
+    public Void get() throws InterruptedException, ExecutionException {
+        done.await();
+
+        return getResult();
+    }
+
+    @Override
+    public Void get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (!done.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+
+        return getResult();
+    }
+
+    private Void getResult() throws ExecutionException {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        if (error != null) {
+            throw new ExecutionException(new Exception(command + ": " + error));
+        }
+
+        return null;
+    }
+}
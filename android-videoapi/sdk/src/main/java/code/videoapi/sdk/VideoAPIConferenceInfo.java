@@ -0,0 +1,110 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+/**
+ * Immutable snapshot of the state of a conference, as tracked from the
+ * "CONFERENCE_WILL_JOIN", "CONFERENCE_JOINED" and "CONFERENCE_TERMINATED"
+ * events. The times are in milliseconds of
+ * {@link android.os.SystemClock#elapsedRealtime()}, -1 if the conference
+ * didn't reach the corresponding state.
+ */
+public final class VideoAPIConferenceInfo {
+
+    /**
+     * The states a conference goes through, in order. A conference may be
+     * terminated without having been joined e.g. when joining failed.
+     */
+    public enum State {
+        WILL_JOIN,
+        JOINED,
+        TERMINATED
+    }
+
+    private final String url;
+
+    private final State state;
+
+    private final long willJoinTime;
+
+    private final long joinedTime;
+
+    private final long terminatedTime;
+
+    VideoAPIConferenceInfo(
+            String url,
+            State state,
+            long willJoinTime,
+            long joinedTime,
+            long terminatedTime) {
+        this.url = url;
+        this.state = state;
+        this.willJoinTime = willJoinTime;
+        this.joinedTime = joinedTime;
+        this.terminatedTime = terminatedTime;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getWillJoinTime() {
+        return willJoinTime;
+    }
+
+    public long getJoinedTime() {
+        return joinedTime;
+    }
+
+    public long getTerminatedTime() {
+        return terminatedTime;
+    }
+
+    /**
+     * Gets the time it took to join the conference.
+     *
+     * @return the duration in milliseconds or -1 if it wasn't joined.
+     */
+    public long getTimeToJoin() {
+        return joinedTime >= 0 && willJoinTime >= 0 ? joinedTime - willJoinTime : -1;
+    }
+
+    /**
+     * Gets the time spent in the conference, so far if it's not terminated.
+     *
+     * @param now the current {@link android.os.SystemClock#elapsedRealtime()}.
+     * @return the duration in milliseconds or -1 if it wasn't joined.
+     */
+    public long getDuration(long now) {
+        if (joinedTime < 0) {
+            return -1;
+        }
+
+        return (terminatedTime >= 0 ? terminatedTime : now) - joinedTime;
+    }
+
+    @Override
+    public String toString() {
+        return "VideoAPIConferenceInfo[url=" + url
+            + ", state=" + state
+            + ", timeToJoin=" + getTimeToJoin() + "ms]";
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.Map;
+
+/**
+ * An event coming from VideoAPI, as delivered to a
+ * {@link VideoAPIBatchedListener}.
+ */
+public final class VideoAPIEvent {
+    private final String name;
+
+    private final Map<String, Object> data;
+
+    /**
+     * Events with the same non-null key supersede each other when coalescing
+     * is enabled.
+     */
+    final String coalescingKey;
+
+    VideoAPIEvent(String name, Map<String, Object> data) {
+        this.name = name;
+        this.data = data;
+
+        coalescingKey = getCoalescingKey(name, data);
+    }
+
+    /**
+     * Gets the name of the event i.e. the name of the listener method without
+     * the "on" prefix, in upper snake case e.g. "PARTICIPANT_JOINED".
+     *
+     * @return the name of the event.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the data of the event, the same a listener method would receive.
+     *
+     * @return the data of the event.
+     */
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    /**
+     * Only the last state of a participant's raised hand is relevant, the
+     * other events are never superseded.
+     */
+    private static String getCoalescingKey(String name, Map<String, Object> data) {
+        if ("RAISE_HAND_UPDATED".equals(name)) {
+            Object id = data.get("id");
+
+            return id != null ? name + "/" + id : null;
+        }
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "VideoAPIEvent[" + name + ", " + data + "]";
+    }
+}
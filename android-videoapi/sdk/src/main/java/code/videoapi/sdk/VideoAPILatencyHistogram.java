@@ -0,0 +1,169 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies, in milliseconds, with fixed exponential buckets,
+ * along with the number of operations which failed or timed out. Recording
+ * is thread safe and doesn't allocate, reading gives a consistent enough view
+ * for monitoring.
+ */
+public final class VideoAPILatencyHistogram {
+
+    /**
+     * The inclusive upper bounds of the buckets, in milliseconds. The last
+     * bucket holds everything above the last bound.
+     */
+    private static final long[] BUCKET_BOUNDS = {
+        1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    private final AtomicLong failureCount = new AtomicLong();
+
+    VideoAPILatencyHistogram() {
+    }
+
+    /**
+     * Records the latency of an operation which succeeded.
+     *
+     * @param latency the latency in milliseconds.
+     */
+    void record(long latency) {
+        int i = 0;
+
+        while (i < BUCKET_BOUNDS.length && latency > BUCKET_BOUNDS[i]) {
+            i++;
+        }
+        buckets.incrementAndGet(i);
+        count.incrementAndGet();
+        sum.addAndGet(latency);
+
+        long m;
+
+        while (latency > (m = max.get()) && !max.compareAndSet(m, latency)) {
+            // Retry.
+        }
+    }
+
+    /**
+     * Records an operation which failed or timed out.
+     */
+    void recordFailure() {
+        failureCount.incrementAndGet();
+    }
+
+    /**
+     * Gets the inclusive upper bounds of the buckets, in milliseconds. There
+     * is one more bucket for the latencies above the last bound.
+     *
+     * @return the bucket bounds.
+     */
+    public static long[] getBucketBounds() {
+        return BUCKET_BOUNDS.clone();
+    }
+
+    /**
+     * Gets the number of latencies in each bucket.
+     *
+     * @return the counts, one more than {@link #getBucketBounds()}.
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length()];
+
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+        }
+
+        return counts;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the average latency.
+     *
+     * @return the average latency in milliseconds, 0 if there is none.
+     */
+    public long getAverage() {
+        long count = this.count.get();
+
+        return count == 0 ? 0 : sum.get() / count;
+    }
+
+    /**
+     * Gets an upper bound of a percentile of the latencies i.e. the upper
+     * bound of the bucket it falls in.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the latency in milliseconds, the maximum for the last bucket, 0
+     * if there is none.
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return BUCKET_BOUNDS[i];
+            }
+        }
+
+        return max.get();
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount()
+            + " failures=" + getFailureCount()
+            + " avg=" + getAverage()
+            + "ms p50<=" + getPercentile(50)
+            + "ms p95<=" + getPercentile(95)
+            + "ms max=" + getMax() + "ms";
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Immutable snapshot of a remote participant of a conference, as known from
+ * the "PARTICIPANT_JOINED", "PARTICIPANT_LEFT" and "RAISE_HAND_UPDATED"
+ * events.
+ */
+public final class VideoAPIParticipant {
+    private final String id;
+
+    @Nullable
+    private final String displayName;
+
+    private final boolean handRaised;
+
+    private final long joinedTime;
+
+    VideoAPIParticipant(
+            String id,
+            @Nullable String displayName,
+            boolean handRaised,
+            long joinedTime) {
+        this.id = id;
+        this.displayName = displayName;
+        this.handRaised = handRaised;
+        this.joinedTime = joinedTime;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Nullable
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean isHandRaised() {
+        return handRaised;
+    }
+
+    /**
+     * Gets when the participant joined, in milliseconds of
+     * {@link android.os.SystemClock#elapsedRealtime()}.
+     *
+     * @return the join time.
+     */
+    public long getJoinedTime() {
+        return joinedTime;
+    }
+
+    @Override
+    public String toString() {
+        return "VideoAPIParticipant[id=" + id
+            + ", displayName=" + displayName
+            + ", handRaised=" + handRaised + "]";
+    }
+}
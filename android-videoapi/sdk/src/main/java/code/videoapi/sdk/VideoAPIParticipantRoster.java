@@ -0,0 +1,378 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The remote participants of the conference of a {@link VideoAPIView}, kept up
+ * to date from the external API events. Obtained through
+ * {@link VideoAPIView#getParticipantRoster()}.
+ * <p>
+ * The roster can be read from any thread without locking. The changes are
+ * reported to the {@link Listener}s on the UI thread, coalesced: all the
+ * changes which happened since the previous notification are reported at
+ * once, so the start of a large meeting doesn't cause one UI update per
+ * participant.
+ */
+public final class VideoAPIParticipantRoster {
+
+    /**
+     * Listener notified of the changes of a {@link VideoAPIParticipantRoster}.
+     */
+    public interface Listener {
+        /**
+         * Called on the UI thread with the changes since the previous call. A
+         * participant who joined and left in between is not reported.
+         *
+         * @param added the participants who joined.
+         * @param updated the participants whose details changed.
+         * @param removed the participants who left, as they were last known.
+         */
+        void onParticipantsChanged(
+            List<VideoAPIParticipant> added,
+            List<VideoAPIParticipant> updated,
+            List<VideoAPIParticipant> removed);
+    }
+
+    private static final String PARTICIPANT_JOINED = "PARTICIPANT_JOINED";
+    private static final String PARTICIPANT_LEFT = "PARTICIPANT_LEFT";
+    private static final String RAISE_HAND_UPDATED = "RAISE_HAND_UPDATED";
+
+    /**
+     * The kinds of pending changes.
+     */
+    private static final int ADDED = 1;
+    private static final int UPDATED = 2;
+    private static final int REMOVED = 3;
+
+    /**
+     * The events the roster is fed with.
+     */
+    static final String[] EVENTS = {
+        PARTICIPANT_JOINED,
+        PARTICIPANT_LEFT,
+        RAISE_HAND_UPDATED
+    };
+
+    private final ConcurrentHashMap<String, VideoAPIParticipant> byId
+        = new ConcurrentHashMap<>(64);
+
+    /**
+     * The IDs of the participants by display name; display names aren't
+     * unique.
+     */
+    private final ConcurrentHashMap<String, Set<String>> byDisplayName
+        = new ConcurrentHashMap<>(64);
+
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The changes not reported yet, by participant ID, guarded by
+     * {@code this}. The value is the kind of change and the last known state.
+     */
+    private LinkedHashMap<String, Object[]> pendingChanges = new LinkedHashMap<>();
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private final Runnable notifyListeners = new Runnable() {
+        @Override
+        public void run() {
+            LinkedHashMap<String, Object[]> changes;
+
+            synchronized (VideoAPIParticipantRoster.this) {
+                changes = pendingChanges;
+                pendingChanges = new LinkedHashMap<>();
+            }
+
+            List<VideoAPIParticipant> added = new ArrayList<>();
+            List<VideoAPIParticipant> updated = new ArrayList<>();
+            List<VideoAPIParticipant> removed = new ArrayList<>();
+
+            for (Object[] change : changes.values()) {
+                switch ((Integer) change[0]) {
+                case ADDED:
+                    added.add((VideoAPIParticipant) change[1]);
+                    break;
+                case UPDATED:
+                    updated.add((VideoAPIParticipant) change[1]);
+                    break;
+                case REMOVED:
+                    removed.add((VideoAPIParticipant) change[1]);
+                    break;
+                }
+            }
+
+            if (added.isEmpty() && updated.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+
+            added = Collections.unmodifiableList(added);
+            updated = Collections.unmodifiableList(updated);
+            removed = Collections.unmodifiableList(removed);
+            for (Listener listener : listeners) {
+                listener.onParticipantsChanged(added, updated, removed);
+            }
+        }
+    };
+
+    VideoAPIParticipantRoster() {
+    }
+
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets the number of participants.
+     *
+     * @return the number of participants.
+     */
+    public int getCount() {
+        return byId.size();
+    }
+
+    /**
+     * Gets a participant.
+     *
+     * @param id the ID of the participant.
+     * @return the participant or {@code null} if there's no such participant.
+     */
+    @Nullable
+    public VideoAPIParticipant getParticipant(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Gets the participants with a display name.
+     *
+     * @param displayName the display name.
+     * @return the participants, in no particular order.
+     */
+    public List<VideoAPIParticipant> findByDisplayName(String displayName) {
+        Set<String> ids = byDisplayName.get(displayName);
+
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+
+        List<VideoAPIParticipant> participants = new ArrayList<>(ids.size());
+
+        for (String id : ids) {
+            VideoAPIParticipant participant = byId.get(id);
+
+            if (participant != null) {
+                participants.add(participant);
+            }
+        }
+
+        return participants;
+    }
+
+    /**
+     * Gets a read-only view of the participants, in no particular order. It's
+     * not a copy: it reflects the participants as they are when iterated and
+     * never throws {@link java.util.ConcurrentModificationException}.
+     *
+     * @return the participants.
+     */
+    public Collection<VideoAPIParticipant> getParticipants() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    /**
+     * Removes all participants, when the conference changes.
+     */
+    synchronized void clear() {
+        for (VideoAPIParticipant participant : byId.values()) {
+            addChange(participant.getId(), REMOVED, participant);
+        }
+        byId.clear();
+        byDisplayName.clear();
+    }
+
+    /**
+     * Updates the roster from an external API event. Called on the JavaScript
+     * bridge thread.
+     *
+     * @param name the name of the event.
+     * @param data the data of the event.
+     */
+    void onExternalAPIEvent(String name, ReadableMap data) {
+        switch (name) {
+        case PARTICIPANT_JOINED:
+        case PARTICIPANT_LEFT:
+        case RAISE_HAND_UPDATED:
+            break;
+        default:
+            return;
+        }
+
+        String id = getString(data, "id");
+
+        if (id == null) {
+            return;
+        }
+
+        synchronized (this) {
+            VideoAPIParticipant previous = byId.get(id);
+
+            if (PARTICIPANT_LEFT.equals(name)) {
+                if (previous != null) {
+                    byId.remove(id);
+                    unindex(previous);
+                    addChange(id, REMOVED, previous);
+                }
+                return;
+            }
+
+            String displayName = getString(data, "displayName");
+            VideoAPIParticipant participant;
+
+            if (PARTICIPANT_JOINED.equals(name)) {
+                participant
+                    = new VideoAPIParticipant(
+                        id,
+                        displayName,
+                        previous != null && previous.isHandRaised(),
+                        previous != null
+                            ? previous.getJoinedTime()
+                            : SystemClock.elapsedRealtime());
+            } else if (previous != null) {
+                participant
+                    = new VideoAPIParticipant(
+                        id,
+                        displayName != null ? displayName : previous.getDisplayName(),
+                        getBoolean(data, "handRaised"),
+                        previous.getJoinedTime());
+            } else {
+                // The hand of a participant we missed the join of.
+                participant
+                    = new VideoAPIParticipant(
+                        id,
+                        displayName,
+                        getBoolean(data, "handRaised"),
+                        SystemClock.elapsedRealtime());
+            }
+
+            byId.put(id, participant);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(participant);
+            addChange(id, previous == null ? ADDED : UPDATED, participant);
+        }
+    }
+
+    private void index(VideoAPIParticipant participant) {
+        String displayName = participant.getDisplayName();
+
+        if (displayName != null) {
+            Set<String> ids = byDisplayName.get(displayName);
+
+            if (ids == null) {
+                ids = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                byDisplayName.put(displayName, ids);
+            }
+            ids.add(participant.getId());
+        }
+    }
+
+    private void unindex(VideoAPIParticipant participant) {
+        String displayName = participant.getDisplayName();
+
+        if (displayName != null) {
+            Set<String> ids = byDisplayName.get(displayName);
+
+            if (ids != null) {
+                ids.remove(participant.getId());
+                if (ids.isEmpty()) {
+                    byDisplayName.remove(displayName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a change to report, merging it with the pending change of the
+     * same participant. MUST be called while holding {@code this}.
+     */
+    private void addChange(String id, int kind, VideoAPIParticipant participant) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        Object[] pending = pendingChanges.get(id);
+
+        if (pending == null) {
+            if (pendingChanges.isEmpty()) {
+                handler.post(notifyListeners);
+            }
+            pendingChanges.put(id, new Object[] { kind, participant });
+            return;
+        }
+
+        int pendingKind = (Integer) pending[0];
+
+        if (pendingKind == ADDED && kind == REMOVED) {
+            // Joined and left in between, nothing to report.
+            pendingChanges.remove(id);
+        } else if (pendingKind == REMOVED && kind == ADDED) {
+            // Left and came back.
+            pending[0] = UPDATED;
+            pending[1] = participant;
+        } else {
+            if (kind == REMOVED) {
+                pending[0] = REMOVED;
+            }
+            pending[1] = participant;
+        }
+    }
+
+    @Nullable
+    private static String getString(ReadableMap data, String key) {
+        return data.hasKey(key) && data.getType(key) == ReadableType.String
+            ? data.getString(key)
+            : null;
+    }
+
+    private static boolean getBoolean(ReadableMap data, String key) {
+        return data.hasKey(key)
+            && data.getType(key) == ReadableType.Boolean
+            && data.getBoolean(key);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+/**
+ * {@link VideoAPIAudioRoutingPolicy} selecting the first available device in
+ * a fixed order of preference, e.g.:
+ * <pre>
+ * new VideoAPIPriorityAudioRoutingPolicy(
+ *     VideoAPIAudioRoutingPolicy.HEADPHONES,
+ *     VideoAPIAudioRoutingPolicy.BLUETOOTH,
+ *     VideoAPIAudioRoutingPolicy.EARPIECE)
+ * </pre>
+ * When none of them is available the {@link #SPEAKER} is used.
+ */
+public final class VideoAPIPriorityAudioRoutingPolicy implements VideoAPIAudioRoutingPolicy {
+
+    private final int[] devices;
+
+    /**
+     * Creates a policy.
+     *
+     * @param devices - The devices, most preferred first.
+     */
+    public VideoAPIPriorityAudioRoutingPolicy(int... devices) {
+        this.devices = devices.clone();
+    }
+
+    @Override
+    public int selectDevice(int availableDevices) {
+        for (int device : devices) {
+            if ((availableDevices & device) != 0) {
+                return device;
+            }
+        }
+
+        return SPEAKER;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of the lanes the SDK's native modules run their work on. Obtained
+ * through {@link VideoAPI#getSchedulerMetrics()}.
+ */
+public final class VideoAPISchedulerMetrics {
+
+    /**
+     * The state of a lane, e.g. "audio" or "network".
+     */
+    public static final class Lane {
+        private final String name;
+        private final int queueDepth;
+        private final int maxQueueDepth;
+        private final int capacity;
+        private final long executedCount;
+        private final long rejectedCount;
+        private final VideoAPILatencyHistogram queueLatencies;
+
+        Lane(
+                String name,
+                int queueDepth,
+                int maxQueueDepth,
+                int capacity,
+                long executedCount,
+                long rejectedCount,
+                VideoAPILatencyHistogram queueLatencies) {
+            this.name = name;
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.capacity = capacity;
+            this.executedCount = executedCount;
+            this.rejectedCount = rejectedCount;
+            this.queueLatencies = queueLatencies;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of tasks waiting to run, including the delayed
+         * ones.
+         *
+         * @return the queue depth.
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        /**
+         * Gets the number of tasks the lane queues at most, the ones posted
+         * beyond it are rejected.
+         *
+         * @return the capacity, 0 if the queue is not bounded.
+         */
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public long getExecutedCount() {
+            return executedCount;
+        }
+
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+
+        /**
+         * Gets the time the tasks waited for the lane's thread once they were
+         * due. Unlike the rest of the snapshot, the histogram keeps being
+         * updated.
+         *
+         * @return the queue latencies.
+         */
+        public VideoAPILatencyHistogram getQueueLatencies() {
+            return queueLatencies;
+        }
+
+        @Override
+        public String toString() {
+            return name
+                + " depth=" + queueDepth + "/" + (capacity == 0 ? "unbounded" : capacity)
+                + " max=" + maxQueueDepth
+                + " executed=" + executedCount
+                + " rejected=" + rejectedCount
+                + " avgWait=" + queueLatencies.getAverage() + "ms"
+                + " maxWait=" + queueLatencies.getMax() + "ms";
+        }
+    }
+
+    private final List<Lane> lanes;
+
+    VideoAPISchedulerMetrics(List<Lane> lanes) {
+        this.lanes = Collections.unmodifiableList(lanes);
+    }
+
+    /**
+     * Gets the lanes, from the most to the least urgent.
+     *
+     * @return the lanes.
+     */
+    public List<Lane> getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Gets a lane by name.
+     *
+     * @param name the name of the lane: "audio", "network", "io" or
+     * "background".
+     * @return the lane or {@code null} if there is no such lane.
+     */
+    public Lane getLane(String name) {
+        for (Lane lane : lanes) {
+            if (lane.name.equals(name)) {
+                return lane;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("VideoAPISchedulerMetrics[");
+
+        for (Lane lane : lanes) {
+            sb.append("\n  ").append(lane);
+        }
+
+        return sb.append("\n]").toString();
+    }
+}
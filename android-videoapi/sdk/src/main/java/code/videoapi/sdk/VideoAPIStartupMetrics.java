@@ -0,0 +1,191 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the time spent in the phases between launching the SDK
+ * and joining a conference. Obtained through
+ * {@link VideoAPI#getStartupMetrics()}.
+ * <p>
+ * All times are in milliseconds. Phases which have not happened (yet) are
+ * reported as {@code -1}.
+ */
+public class VideoAPIStartupMetrics {
+
+    /**
+     * {@link VideoAPIActivity#launch} was called.
+     */
+    public static final String LAUNCH = "launch";
+
+    /**
+     * {@link VideoAPIView#join} was called.
+     */
+    public static final String JOIN = "join";
+
+    /**
+     * The React Native instance manager was initialized.
+     */
+    public static final String INIT_REACT_INSTANCE_MANAGER = "initReactInstanceManager";
+
+    /**
+     * The native libraries were loaded.
+     */
+    public static final String SOLOADER_INIT = "soLoaderInit";
+
+    /**
+     * The React context, and with it the JavaScript runtime, was created.
+     */
+    public static final String REACT_CONTEXT_READY = "reactContextReady";
+
+    /**
+     * The React root view was created and the app started in it.
+     */
+    public static final String CREATE_REACT_ROOT_VIEW = "createReactRootView";
+
+    /**
+     * The JavaScript side reported the conference is about to be joined.
+     */
+    public static final String CONFERENCE_WILL_JOIN = "conferenceWillJoin";
+
+    /**
+     * The JavaScript side reported the conference was joined.
+     */
+    public static final String CONFERENCE_JOINED = "conferenceJoined";
+
+    private final Map<String, Long> starts;
+
+    private final Map<String, Long> ends;
+
+    private final Map<String, Long> nativeModuleCreationTimes;
+
+    private final List<String> skippedNativeModules;
+
+    /**
+     * The time all other times are relative to: the earliest recorded phase.
+     */
+    private final long origin;
+
+    VideoAPIStartupMetrics(
+            Map<String, Long> starts,
+            Map<String, Long> ends,
+            Map<String, Long> nativeModuleCreationTimes,
+            List<String> skippedNativeModules) {
+        this.starts = Collections.unmodifiableMap(new HashMap<>(starts));
+        this.ends = Collections.unmodifiableMap(new HashMap<>(ends));
+        this.nativeModuleCreationTimes
+            = Collections.unmodifiableMap(new HashMap<>(nativeModuleCreationTimes));
+        this.skippedNativeModules
+            = Collections.unmodifiableList(new ArrayList<>(skippedNativeModules));
+
+        long origin = Long.MAX_VALUE;
+
+        for (long start : this.starts.values()) {
+            origin = Math.min(origin, start);
+        }
+        this.origin = origin;
+    }
+
+    /**
+     * Gets when the given phase started, relative to the earliest recorded
+     * phase.
+     *
+     * @param phase - One of the phase constants of this class.
+     * @return The start time of the phase, or {@code -1}.
+     */
+    public long getStartTime(String phase) {
+        Long start = starts.get(phase);
+
+        return start == null ? -1 : start - origin;
+    }
+
+    /**
+     * Gets how long the given phase took.
+     *
+     * @param phase - One of the phase constants of this class.
+     * @return The duration of the phase, or {@code -1}.
+     */
+    public long getDuration(String phase) {
+        Long start = starts.get(phase);
+        Long end = ends.get(phase);
+
+        return start == null || end == null ? -1 : end - start;
+    }
+
+    /**
+     * Gets the time from launching the SDK, or joining if the SDK was not
+     * launched through {@link VideoAPIActivity}, to the conference being
+     * joined.
+     *
+     * @return The time to join, or {@code -1}.
+     */
+    public long getTimeToJoin() {
+        Long joined = starts.get(CONFERENCE_JOINED);
+        Long start = starts.containsKey(LAUNCH) ? starts.get(LAUNCH) : starts.get(JOIN);
+
+        return joined == null || start == null ? -1 : joined - start;
+    }
+
+    /**
+     * Gets the time it took to create each of the native modules created so
+     * far. Modules are created lazily, see {@link #getSkippedNativeModules()}.
+     *
+     * @return The creation times, by module name.
+     */
+    public Map<String, Long> getNativeModuleCreationTimes() {
+        return nativeModuleCreationTimes;
+    }
+
+    /**
+     * Gets the names of the native modules which have not been created.
+     *
+     * @return The names of the skipped modules.
+     */
+    public List<String> getSkippedNativeModules() {
+        return skippedNativeModules;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("VideoAPIStartupMetrics[");
+        String[] phases = {
+            LAUNCH,
+            JOIN,
+            INIT_REACT_INSTANCE_MANAGER,
+            SOLOADER_INIT,
+            REACT_CONTEXT_READY,
+            CREATE_REACT_ROOT_VIEW,
+            CONFERENCE_WILL_JOIN,
+            CONFERENCE_JOINED
+        };
+
+        for (String phase : phases) {
+            sb.append(phase)
+                .append('=').append(getStartTime(phase))
+                .append('+').append(getDuration(phase))
+                .append(", ");
+        }
+        sb.append("timeToJoin=").append(getTimeToJoin()).append(']');
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This class represents which video encoders / decoders WebRTC uses. The user
+ * can create an instance by using {@link VideoAPIVideoCodecPolicy.Builder} and
+ * set it with {@link VideoAPI#setVideoCodecPolicy(VideoAPIVideoCodecPolicy)}.
+ * <p>
+ * The resulting {@link VideoAPIVideoCodecPolicy} object is immutable.
+ */
+public class VideoAPIVideoCodecPolicy {
+
+    /**
+     * Which codec implementations to use.
+     * - SOFTWARE: Software codecs only. Works the same everywhere, but costs
+     *   more CPU and battery.
+     * - HARDWARE_WITH_SOFTWARE_FALLBACK: Hardware codecs when the device has
+     *   them, software codecs otherwise.
+     */
+    public enum Mode {
+        SOFTWARE,
+        HARDWARE_WITH_SOFTWARE_FALLBACK
+    }
+
+    /**
+     * The policy used unless another one is set: software codecs, all of
+     * them, no simulcast.
+     */
+    public static final VideoAPIVideoCodecPolicy DEFAULT = new Builder().build();
+
+    /**
+     * Which codec implementations to use.
+     */
+    private Mode mode;
+
+    /**
+     * Names of the allowed codecs, upper case, by order of preference. When
+     * empty all codecs are allowed.
+     */
+    private List<String> codecs;
+
+    /**
+     * Whether the encoders are wrapped for simulcast.
+     */
+    private boolean simulcastEnabled;
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public List<String> getCodecs() {
+        return codecs;
+    }
+
+    public boolean isSimulcastEnabled() {
+        return simulcastEnabled;
+    }
+
+    /**
+     * Tells whether the codec with the given name may be used.
+     *
+     * @param name - The name of the codec, e.g. "VP8".
+     * @return {@code true} if the codec may be used; {@code false}, otherwise.
+     */
+    boolean isCodecAllowed(String name) {
+        return codecs.isEmpty() || codecs.contains(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Selects, among the codecs supported by a factory, the ones this policy
+     * allows, by order of preference. Codecs with the same preference keep
+     * their relative order.
+     *
+     * @param supported - The supported codecs.
+     * @param nameGetter - Gets the name of a codec.
+     * @param <T> - The codec description type.
+     * @return The allowed codecs.
+     */
+    <T> List<T> selectCodecs(T[] supported, final CodecNameGetter<T> nameGetter) {
+        List<T> selected = new ArrayList<>(supported.length);
+
+        for (T codec : supported) {
+            if (isCodecAllowed(nameGetter.getName(codec))) {
+                selected.add(codec);
+            }
+        }
+
+        if (!codecs.isEmpty()) {
+            // Collections.sort is stable.
+            Collections.sort(selected, new Comparator<T>() {
+                @Override
+                public int compare(T a, T b) {
+                    return getRank(nameGetter.getName(a)) - getRank(nameGetter.getName(b));
+                }
+            });
+        }
+
+        return selected;
+    }
+
+    private int getRank(String name) {
+        return codecs.indexOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the name of a codec description, e.g. of a
+     * {@code org.webrtc.VideoCodecInfo}.
+     *
+     * @param <T> - The codec description type.
+     */
+    interface CodecNameGetter<T> {
+        String getName(T codec);
+    }
+
+    /**
+     * Class used to build the immutable {@link VideoAPIVideoCodecPolicy} object.
+     */
+    public static class Builder {
+        private Mode mode = Mode.SOFTWARE;
+        private List<String> codecs = Collections.emptyList();
+        private boolean simulcastEnabled;
+
+        /**
+         * Sets which codec implementations to use.
+         *
+         * @param mode - The codec implementations to use.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setMode(Mode mode) {
+            this.mode = mode;
+
+            return this;
+        }
+
+        /**
+         * Restricts the codecs to the given ones, by order of preference e.g.
+         * "VP8", "H264". All codecs are allowed when none is given.
+         *
+         * @param codecs - The names of the allowed codecs.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setCodecs(String... codecs) {
+            List<String> names = new ArrayList<>(codecs.length);
+
+            for (String codec : codecs) {
+                names.add(codec.toUpperCase(Locale.ROOT));
+            }
+            this.codecs = Collections.unmodifiableList(names);
+
+            return this;
+        }
+
+        /**
+         * Sets whether the encoders are wrapped so that each simulcast layer
+         * gets its own encoder.
+         *
+         * @param enabled - Simulcast indicator.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setSimulcastEnabled(boolean enabled) {
+            this.simulcastEnabled = enabled;
+
+            return this;
+        }
+
+        /**
+         * Builds the immutable {@link VideoAPIVideoCodecPolicy} object with the
+         * configuration that this {@link Builder} instance specified.
+         *
+         * @return - The built {@link VideoAPIVideoCodecPolicy} object.
+         */
+        public VideoAPIVideoCodecPolicy build() {
+            VideoAPIVideoCodecPolicy policy = new VideoAPIVideoCodecPolicy();
+
+            policy.mode = this.mode;
+            policy.codecs = this.codecs;
+            policy.simulcastEnabled = this.simulcastEnabled;
+
+            return policy;
+        }
+    }
+
+    private VideoAPIVideoCodecPolicy() {
+    }
+
+    @Override
+    public String toString() {
+        return "VideoAPIVideoCodecPolicy[mode=" + mode
+            + ", codecs=" + codecs
+            + ", simulcast=" + simulcastEnabled + "]";
+    }
+}
@@ -26,19 +26,13 @@ import com.facebook.react.bridge.ReadableMap;
 import code.videoapi.sdk.log.VideoAPILogger;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 
-
 public class VideoAPIView extends BaseReactView<VideoAPIViewListener>
         implements OngoingConferenceTracker.OngoingConferenceListener {
 
-    /**
-     * The {@code Method}s of {@code VideoAPIViewListener} by event name i.e.
-     * redux action types.
-     */
-    private static final Map<String, Method> LISTENER_METHODS
-        = ListenerUtils.mapListenerMethods(VideoAPIViewListener.class);
-
     /**
      * The URL of the current conference.
      */
@@ -46,6 +40,11 @@ public class VideoAPIView extends BaseReactView<VideoAPIViewListener>
     // fine to have this field volatile without additional synchronization.
     private volatile String url;
 
+    /**
+     * The participants of the current conference, once asked for.
+     */
+    private volatile VideoAPIParticipantRoster participantRoster;
+
     /**
      * Helper method to recursively merge 2 {@link Bundle} objects representing React Native props.
      *
@@ -143,6 +142,7 @@ public class VideoAPIView extends BaseReactView<VideoAPIViewListener>
      *                when doing so.
      */
     public void join(@Nullable VideoAPIConferenceOptions options) {
+        StartupTrace.startJoin(VideoAPIStartupMetrics.JOIN);
         setProps(options != null ? options.asProps() : new Bundle());
     }
 
@@ -200,6 +200,92 @@ public class VideoAPIView extends BaseReactView<VideoAPIViewListener>
         this.url = conferenceUrl;
     }
 
+    /**
+     * Only an app which is not in a conference may be kept around for reuse.
+     */
+    @Override
+    protected boolean canRecycleReactRootView() {
+        return url == null;
+    }
+
+    /**
+     * Gets the participants of the current conference of this view, kept up
+     * to date from the moment this method is first called. MUST be called on
+     * the UI thread, ideally before joining.
+     *
+     * @return the {@link VideoAPIParticipantRoster} of this view.
+     */
+    public VideoAPIParticipantRoster getParticipantRoster() {
+        if (participantRoster == null) {
+            participantRoster = new VideoAPIParticipantRoster();
+
+            // The roster needs the participant events, whatever the listener.
+            updateSubscribedEvents();
+        }
+
+        return participantRoster;
+    }
+
+    /**
+     * The events of the listener which are sent even if it doesn't handle
+     * them, because the SDK keeps track of the ongoing conference.
+     */
+    private static final String[] CONFERENCE_EVENTS = {
+        "CONFERENCE_JOINED",
+        "CONFERENCE_TERMINATED",
+        "CONFERENCE_WILL_JOIN"
+    };
+
+    /**
+     * Only the events the listener overrides the
+     * {@link VideoAPIViewListenerAdapter} method of are sent, plus the ones
+     * the SDK needs itself.
+     */
+    @Override
+    protected ArrayList<String> getSubscribedEvents() {
+        VideoAPIViewListener listener = getListener();
+
+        if (listener instanceof VideoAPIBatchedListener) {
+            return null;
+        }
+
+        ArrayList<String> events
+            = new ArrayList<>(Arrays.asList(CONFERENCE_EVENTS));
+
+        if (participantRoster != null) {
+            events.addAll(Arrays.asList(VideoAPIParticipantRoster.EVENTS));
+        }
+
+        if (listener == null) {
+            return events;
+        }
+
+        Class<?> listenerClass = listener.getClass();
+
+        for (Map.Entry<String, Method> entry
+                : ListenerUtils.mapListenerMethods(VideoAPIViewListener.class).entrySet()) {
+            Method method = entry.getValue();
+
+            try {
+                Class<?> declaringClass
+                    = listenerClass.getMethod(
+                            method.getName(), method.getParameterTypes())
+                        .getDeclaringClass();
+
+                if (declaringClass == VideoAPIViewListenerAdapter.class) {
+                    continue;
+                }
+            } catch (NoSuchMethodException e) {
+                // Cannot happen, the listener implements the interface.
+            }
+            if (!events.contains(entry.getKey())) {
+                events.add(entry.getKey());
+            }
+        }
+
+        return events;
+    }
+
     /**
      * Handler for {@link ExternalAPIModule} events.
      *
@@ -209,7 +295,18 @@ public class VideoAPIView extends BaseReactView<VideoAPIViewListener>
      */
     @Override
     protected void onExternalAPIEvent(String name, ReadableMap data) {
-        onExternalAPIEvent(LISTENER_METHODS, name, data);
+        VideoAPIParticipantRoster participantRoster = this.participantRoster;
+
+        if (participantRoster != null) {
+            if (name.equals("CONFERENCE_WILL_JOIN")
+                    || name.equals("CONFERENCE_TERMINATED")) {
+                participantRoster.clear();
+            } else {
+                participantRoster.onExternalAPIEvent(name, data);
+            }
+        }
+
+        onExternalAPIEvent(VideoAPIViewListenerDispatcher.INSTANCE, name, data);
     }
 
     @Override
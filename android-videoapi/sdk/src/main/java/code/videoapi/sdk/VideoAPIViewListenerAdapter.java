@@ -0,0 +1,50 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.Map;
+
+/**
+ * {@link VideoAPIViewListener} whose methods do nothing. Extend it and only
+ * override the methods for the events of interest: the events whose method
+ * isn't overridden are not sent from JavaScript at all.
+ */
+public class VideoAPIViewListenerAdapter implements VideoAPIViewListener {
+    @Override
+    public void onConferenceJoined(Map<String, Object> data) {
+    }
+
+    @Override
+    public void onConferenceTerminated(Map<String, Object> data) {
+    }
+
+    @Override
+    public void onConferenceWillJoin(Map<String, Object> data) {
+    }
+
+    @Override
+    public void onParticipantLeft(Map<String, Object> data) {
+    }
+
+    @Override
+    public void onParticipantJoined(Map<String, Object> data) {
+    }
+
+    @Override
+    public void onRaiseHandUpdated(Map<String, Object> data) {
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import java.util.Map;
+
+/**
+ * {@link ListenerDispatcher} for {@link VideoAPIViewListener}. The event names
+ * are the listener method names without the "on" prefix, in upper snake case.
+ * MUST be kept in sync with {@link VideoAPIViewListener}.
+ */
+final class VideoAPIViewListenerDispatcher
+    implements ListenerDispatcher<VideoAPIViewListener> {
+
+    static final VideoAPIViewListenerDispatcher INSTANCE
+        = new VideoAPIViewListenerDispatcher();
+
+    private VideoAPIViewListenerDispatcher() {
+    }
+
+    @Override
+    public boolean canDispatch(String eventName) {
+        switch (eventName) {
+        case "CONFERENCE_JOINED":
+        case "CONFERENCE_TERMINATED":
+        case "CONFERENCE_WILL_JOIN":
+        case "PARTICIPANT_LEFT":
+        case "PARTICIPANT_JOINED":
+        case "RAISE_HAND_UPDATED":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    @Override
+    public void dispatch(
+            VideoAPIViewListener listener,
+            String eventName,
+            Map<String, Object> eventData) {
+        switch (eventName) {
+        case "CONFERENCE_JOINED":
+            listener.onConferenceJoined(eventData);
+            break;
+        case "CONFERENCE_TERMINATED":
+            listener.onConferenceTerminated(eventData);
+            break;
+        case "CONFERENCE_WILL_JOIN":
+            listener.onConferenceWillJoin(eventData);
+            break;
+        case "PARTICIPANT_LEFT":
+            listener.onParticipantLeft(eventData);
+            break;
+        case "PARTICIPANT_JOINED":
+            listener.onParticipantJoined(eventData);
+            break;
+        case "RAISE_HAND_UPDATED":
+            listener.onRaiseHandUpdated(eventData);
+            break;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk;
+
+import com.oney.WebRTCModule.EglUtils;
+import com.oney.WebRTCModule.WebRTCModule;
+
+import org.webrtc.DefaultVideoDecoderFactory;
+import org.webrtc.DefaultVideoEncoderFactory;
+import org.webrtc.EglBase;
+import org.webrtc.HardwareVideoEncoderFactory;
+import org.webrtc.SimulcastVideoEncoderFactory;
+import org.webrtc.SoftwareVideoDecoderFactory;
+import org.webrtc.SoftwareVideoEncoderFactory;
+import org.webrtc.VideoCodecInfo;
+import org.webrtc.VideoDecoder;
+import org.webrtc.VideoDecoderFactory;
+import org.webrtc.VideoEncoder;
+import org.webrtc.VideoEncoderFactory;
+
+import code.videoapi.sdk.log.VideoAPILogger;
+
+import java.util.List;
+
+/**
+ * Creates the WebRTC video encoder and decoder factories for a
+ * {@link VideoAPIVideoCodecPolicy}.
+ */
+final class VideoCodecFactories {
+    private static final String TAG = VideoCodecFactories.class.getSimpleName();
+
+    private static final VideoAPIVideoCodecPolicy.CodecNameGetter<VideoCodecInfo> CODEC_NAME
+        = new VideoAPIVideoCodecPolicy.CodecNameGetter<VideoCodecInfo>() {
+            @Override
+            public String getName(VideoCodecInfo codec) {
+                return codec.name;
+            }
+        };
+
+    private VideoCodecFactories() {
+    }
+
+    /**
+     * Sets the video encoder and decoder factories matching the given policy
+     * on the given WebRTC module options.
+     *
+     * @param options the {@link WebRTCModule.Options} to configure.
+     * @param policy the {@link VideoAPIVideoCodecPolicy} to apply.
+     */
+    static void configure(WebRTCModule.Options options, VideoAPIVideoCodecPolicy policy) {
+        EglBase.Context eglContext = null;
+
+        if (policy.getMode() == VideoAPIVideoCodecPolicy.Mode.HARDWARE_WITH_SOFTWARE_FALLBACK) {
+            eglContext = EglUtils.getRootEglBaseContext();
+            if (eglContext == null) {
+                VideoAPILogger.w(TAG + " No EGL context, using software codecs");
+            }
+        }
+
+        VideoEncoderFactory encoderFactory;
+        VideoDecoderFactory decoderFactory;
+
+        if (eglContext != null) {
+            encoderFactory
+                = policy.isSimulcastEnabled()
+                    ? new SimulcastVideoEncoderFactory(
+                        new HardwareVideoEncoderFactory(eglContext, true, true),
+                        new SoftwareVideoEncoderFactory())
+                    : new DefaultVideoEncoderFactory(eglContext, true, true);
+            decoderFactory = new DefaultVideoDecoderFactory(eglContext);
+        } else {
+            encoderFactory
+                = policy.isSimulcastEnabled()
+                    ? new SimulcastVideoEncoderFactory(
+                        new SoftwareVideoEncoderFactory(),
+                        new SoftwareVideoEncoderFactory())
+                    : new SoftwareVideoEncoderFactory();
+            decoderFactory = new SoftwareVideoDecoderFactory();
+        }
+
+        if (!policy.getCodecs().isEmpty()) {
+            encoderFactory = new FilteringVideoEncoderFactory(encoderFactory, policy);
+            decoderFactory = new FilteringVideoDecoderFactory(decoderFactory, policy);
+        }
+
+        VideoAPILogger.i(TAG + " Using " + policy);
+
+        options.setVideoEncoderFactory(encoderFactory);
+        options.setVideoDecoderFactory(decoderFactory);
+    }
+
+    /**
+     * {@link VideoEncoderFactory} which only exposes the codecs allowed by a
+     * {@link VideoAPIVideoCodecPolicy}.
+     */
+    private static class FilteringVideoEncoderFactory implements VideoEncoderFactory {
+        private final VideoEncoderFactory delegate;
+
+        private final VideoAPIVideoCodecPolicy policy;
+
+        FilteringVideoEncoderFactory(VideoEncoderFactory delegate, VideoAPIVideoCodecPolicy policy) {
+            this.delegate = delegate;
+            this.policy = policy;
+        }
+
+        @Override
+        public VideoEncoder createEncoder(VideoCodecInfo info) {
+            return policy.isCodecAllowed(info.name) ? delegate.createEncoder(info) : null;
+        }
+
+        @Override
+        public VideoCodecInfo[] getSupportedCodecs() {
+            List<VideoCodecInfo> codecs
+                = policy.selectCodecs(delegate.getSupportedCodecs(), CODEC_NAME);
+
+            return codecs.toArray(new VideoCodecInfo[0]);
+        }
+    }
+
+    /**
+     * {@link VideoDecoderFactory} which only exposes the codecs allowed by a
+     * {@link VideoAPIVideoCodecPolicy}.
+     */
+    private static class FilteringVideoDecoderFactory implements VideoDecoderFactory {
+        private final VideoDecoderFactory delegate;
+
+        private final VideoAPIVideoCodecPolicy policy;
+
+        FilteringVideoDecoderFactory(VideoDecoderFactory delegate, VideoAPIVideoCodecPolicy policy) {
+            this.delegate = delegate;
+            this.policy = policy;
+        }
+
+        @Override
+        public VideoDecoder createDecoder(VideoCodecInfo info) {
+            return policy.isCodecAllowed(info.name) ? delegate.createDecoder(info) : null;
+        }
+
+        @Override
+        public VideoCodecInfo[] getSupportedCodecs() {
+            List<VideoCodecInfo> codecs
+                = policy.selectCodecs(delegate.getSupportedCodecs(), CODEC_NAME);
+
+            return codecs.toArray(new VideoCodecInfo[0]);
+        }
+    }
+}
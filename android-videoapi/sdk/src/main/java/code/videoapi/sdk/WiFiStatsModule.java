@@ -35,8 +35,6 @@ import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.Enumeration;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Module exposing WiFi statistics.
@@ -61,12 +59,6 @@ class WiFiStatsModule
      */
     public final static int SIGNAL_LEVEL_SCALE = 101;
 
-    /**
-     * {@link ExecutorService} for running all operations on a dedicated thread.
-     */
-    private static final ExecutorService executor
-        = Executors.newSingleThreadExecutor();
-
     /**
      * Initializes a new module instance. There shall be a single instance of
      * this module throughout the lifetime of the application.
@@ -114,9 +106,13 @@ class WiFiStatsModule
      */
     @ReactMethod
     public void getWiFiStats(final Promise promise) {
+        final long start = BridgeMetrics.start();
+
         Runnable r = new Runnable() {
             @Override
             public void run() {
+                long payloadSize = 0;
+
                 try {
                     Context context
                         = getReactApplicationContext().getApplicationContext();
@@ -188,16 +184,23 @@ class WiFiStatsModule
                     }
 
                     result.put("addresses", addresses);
-                    promise.resolve(result.toString());
+                    String stats = result.toString();
+
+                    payloadSize = BridgeMetrics.estimateSize(stats);
+                    promise.resolve(stats);
 
-                    VideoAPILogger.d(TAG + " WiFi stats: " + result.toString());
+                    VideoAPILogger.d(TAG + " WiFi stats: " + stats);
                 } catch (Throwable e) {
                     VideoAPILogger.e(e, TAG + " Failed to obtain wifi stats");
                     promise.reject(
                         new Exception("Failed to obtain wifi stats"));
+                } finally {
+                    BridgeMetrics.record(NAME, "getWiFiStats", payloadSize, start);
                 }
             }
         };
-        executor.execute(r);
+        if (!TaskScheduler.execute(TaskScheduler.Lane.IO, r)) {
+            promise.reject(new Exception("Failed to obtain wifi stats"));
+        }
     }
 }
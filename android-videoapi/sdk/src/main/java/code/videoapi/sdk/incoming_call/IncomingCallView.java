@@ -23,21 +23,11 @@ import androidx.annotation.NonNull;
 import com.facebook.react.bridge.ReadableMap;
 
 import code.videoapi.sdk.BaseReactView;
-import code.videoapi.sdk.ListenerUtils;
 
-import java.lang.reflect.Method;
-import java.util.Map;
 
 public class IncomingCallView
     extends BaseReactView<IncomingCallViewListener> {
 
-    /**
-     * The {@code Method}s of {@code VideoAPIViewListener} by event name i.e.
-     * redux action types.
-     */
-    private static final Map<String, Method> LISTENER_METHODS
-        = ListenerUtils.mapListenerMethods(IncomingCallViewListener.class);
-
     public IncomingCallView(@NonNull Context context) {
         super(context);
     }
@@ -51,7 +41,7 @@ public class IncomingCallView
      */
     @Override
     protected void onExternalAPIEvent(String name, ReadableMap data) {
-        onExternalAPIEvent(LISTENER_METHODS, name, data);
+        onExternalAPIEvent(IncomingCallViewListenerDispatcher.INSTANCE, name, data);
     }
 
     /**
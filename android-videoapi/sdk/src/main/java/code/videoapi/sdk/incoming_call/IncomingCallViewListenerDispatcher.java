@@ -0,0 +1,61 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package code.videoapi.sdk.incoming_call;
+
+import code.videoapi.sdk.ListenerDispatcher;
+
+import java.util.Map;
+
+/**
+ * {@link ListenerDispatcher} for {@link IncomingCallViewListener}. MUST be kept
+ * in sync with {@link IncomingCallViewListener}.
+ */
+final class IncomingCallViewListenerDispatcher
+    implements ListenerDispatcher<IncomingCallViewListener> {
+
+    static final IncomingCallViewListenerDispatcher INSTANCE
+        = new IncomingCallViewListenerDispatcher();
+
+    private IncomingCallViewListenerDispatcher() {
+    }
+
+    @Override
+    public boolean canDispatch(String eventName) {
+        switch (eventName) {
+        case "INCOMING_CALL_ANSWERED":
+        case "INCOMING_CALL_DECLINED":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    @Override
+    public void dispatch(
+            IncomingCallViewListener listener,
+            String eventName,
+            Map<String, Object> eventData) {
+        switch (eventName) {
+        case "INCOMING_CALL_ANSWERED":
+            listener.onIncomingCallAnswered(eventData);
+            break;
+        case "INCOMING_CALL_DECLINED":
+            listener.onIncomingCallDeclined(eventData);
+            break;
+        }
+    }
+}
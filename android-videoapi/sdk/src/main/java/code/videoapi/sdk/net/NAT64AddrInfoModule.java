@@ -21,6 +21,7 @@ import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.module.annotations.ReactModule;
 
+import code.videoapi.sdk.TaskScheduler;
 import code.videoapi.sdk.log.VideoAPILogger;
 
 import java.net.UnknownHostException;
@@ -56,7 +57,8 @@ public class NAT64AddrInfoModule
     private final static String TAG = NAME;
 
     /**
-     * The {@link NAT64AddrInfo} instance which holds NAT64 prefix/suffix.
+     * The {@link NAT64AddrInfo} instance which holds NAT64 prefix/suffix. Only
+     * accessed on the network lane of the {@link TaskScheduler}.
      */
     private NAT64AddrInfo info;
 
@@ -85,7 +87,30 @@ public class NAT64AddrInfoModule
      * rejected if given {@code ipv4Address} is not a valid IPv4 address.
      */
     @ReactMethod
-    public void getIPv6Address(String ipv4Address, final Promise promise) {
+    public void getIPv6Address(final String ipv4Address, final Promise promise) {
+        // The discovery does blocking DNS lookups, keep them off the bridge
+        // thread.
+        boolean queued
+            = TaskScheduler.execute(TaskScheduler.Lane.NETWORK, new Runnable() {
+                @Override
+                public void run() {
+                    promise.resolve(resolveIPv6Address(ipv4Address));
+                }
+            });
+
+        if (!queued) {
+            // Same as when no NAT64AddrInfo could be resolved.
+            promise.resolve(null);
+        }
+    }
+
+    /**
+     * Tries to obtain IPv6 address for given IPv4 address in NAT64 environment.
+     *
+     * @param ipv4Address IPv4 address string.
+     * @return the IPv6 address or {@code null} if there is none.
+     */
+    private String resolveIPv6Address(String ipv4Address) {
         // Reset if cached for too long.
         if (System.currentTimeMillis() - infoTimestamp > INFO_LIFETIME) {
             info = null;
@@ -113,7 +138,8 @@ public class NAT64AddrInfoModule
             // address resolved.
             result = null;
         }
-        promise.resolve(result);
+
+        return result;
     }
 
     @Override
@@ -0,0 +1,139 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package code.videoapi.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static code.videoapi.sdk.VideoAPIAudioRoutingPolicy.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AudioRouteHysteresis} class.
+ */
+public class AudioRouteHysteresisTest {
+    private static final long MIN_DWELL = 1500;
+
+    private long now;
+
+    private final List<Long> scheduledDelays = new ArrayList<>();
+
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+
+    private final AtomicLong avoidedSwitches = new AtomicLong();
+
+    private int updates;
+
+    private AudioRouteHysteresis hysteresis;
+
+    @Before
+    public void setUp() {
+        now = 10000;
+        hysteresis = new AudioRouteHysteresis(
+            new AudioRouteHysteresis.Clock() {
+                @Override
+                public long elapsedRealtime() {
+                    return now;
+                }
+            },
+            new AudioRouteHysteresis.Scheduler() {
+                @Override
+                public boolean schedule(Runnable task, long delay) {
+                    scheduledTasks.add(task);
+                    scheduledDelays.add(delay);
+                    return true;
+                }
+            },
+            avoidedSwitches,
+            new Runnable() {
+                @Override
+                public void run() {
+                    updates++;
+                }
+            });
+    }
+
+    /**
+     * A device which just showed up doesn't take over one which still works,
+     * and the route is evaluated again once the device is stable.
+     */
+    @Test
+    public void testAvoidsUnstableDevice() {
+        hysteresis.onDevicesAdded(SPEAKER);
+        now += 5000;
+        hysteresis.onDevicesAdded(BLUETOOTH);
+        now += 500;
+
+        assertFalse(
+            hysteresis.canSwitch(SPEAKER, BLUETOOTH, SPEAKER | BLUETOOTH, false, MIN_DWELL));
+        assertEquals(1, avoidedSwitches.get());
+        assertEquals(1, scheduledTasks.size());
+        assertEquals(Long.valueOf(MIN_DWELL - 500), scheduledDelays.get(0));
+
+        now += MIN_DWELL - 500;
+        scheduledTasks.get(0).run();
+
+        assertEquals(1, updates);
+        assertTrue(
+            hysteresis.canSwitch(SPEAKER, BLUETOOTH, SPEAKER | BLUETOOTH, false, MIN_DWELL));
+        assertEquals(1, avoidedSwitches.get());
+    }
+
+    /**
+     * A single evaluation is scheduled however many switches are avoided
+     * meanwhile.
+     */
+    @Test
+    public void testSchedulesSingleReevaluation() {
+        hysteresis.onDevicesAdded(BLUETOOTH);
+
+        assertFalse(
+            hysteresis.canSwitch(SPEAKER, BLUETOOTH, SPEAKER | BLUETOOTH, false, MIN_DWELL));
+        now += 100;
+        assertFalse(
+            hysteresis.canSwitch(SPEAKER, BLUETOOTH, SPEAKER | BLUETOOTH, false, MIN_DWELL));
+        assertEquals(2, avoidedSwitches.get());
+        assertEquals(1, scheduledTasks.size());
+
+        // Once it ran, another one may be scheduled.
+        scheduledTasks.get(0).run();
+        assertFalse(
+            hysteresis.canSwitch(SPEAKER, BLUETOOTH, SPEAKER | BLUETOOTH, false, MIN_DWELL));
+        assertEquals(2, scheduledTasks.size());
+    }
+
+    /**
+     * The user's selection and the loss of the current device switch the
+     * route right away.
+     */
+    @Test
+    public void testSwitchesRightAway() {
+        hysteresis.onDevicesAdded(BLUETOOTH);
+
+        assertTrue(
+            hysteresis.canSwitch(SPEAKER, BLUETOOTH, SPEAKER | BLUETOOTH, true, MIN_DWELL));
+        assertTrue(hysteresis.canSwitch(SPEAKER, BLUETOOTH, BLUETOOTH, false, MIN_DWELL));
+        assertTrue(hysteresis.canSwitch(0, BLUETOOTH, SPEAKER | BLUETOOTH, false, MIN_DWELL));
+        assertTrue(
+            hysteresis.canSwitch(SPEAKER, BLUETOOTH, SPEAKER | BLUETOOTH, false, 0));
+        assertEquals(0, avoidedSwitches.get());
+        assertTrue(scheduledTasks.isEmpty());
+    }
+}
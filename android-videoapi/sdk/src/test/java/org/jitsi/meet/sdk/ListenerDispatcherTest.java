@@ -0,0 +1,134 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package code.videoapi.sdk;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link VideoAPIViewListenerDispatcher} class.
+ */
+public class ListenerDispatcherTest {
+    private static final int BENCHMARK_ITERATIONS = 1000000;
+
+    /**
+     * Creates a {@link VideoAPIViewListener} which records the names of the
+     * methods called on it.
+     */
+    private static VideoAPIViewListener createListener(final List<String> calls) {
+        return (VideoAPIViewListener) Proxy.newProxyInstance(
+            VideoAPIViewListener.class.getClassLoader(),
+            new Class<?>[] { VideoAPIViewListener.class },
+            new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    calls.add(method.getName());
+                    return null;
+                }
+            });
+    }
+
+    /**
+     * The dispatcher handles the same events as the reflection-based mapping
+     * and calls the same listener methods.
+     */
+    @Test
+    public void testMatchesListenerMethods() {
+        Map<String, Method> methods
+            = ListenerUtils.mapListenerMethods(VideoAPIViewListener.class);
+        VideoAPIViewListenerDispatcher dispatcher
+            = VideoAPIViewListenerDispatcher.INSTANCE;
+
+        assertFalse(methods.isEmpty());
+
+        for (Map.Entry<String, Method> entry : methods.entrySet()) {
+            List<String> calls = new ArrayList<>();
+
+            assertTrue(entry.getKey(), dispatcher.canDispatch(entry.getKey()));
+            dispatcher.dispatch(
+                createListener(calls),
+                entry.getKey(),
+                new HashMap<String, Object>());
+            assertEquals(1, calls.size());
+            assertEquals(entry.getValue().getName(), calls.get(0));
+        }
+
+        assertFalse(dispatcher.canDispatch("ENDPOINT_TEXT_MESSAGE_RECEIVED"));
+    }
+
+    /**
+     * Compares dispatching through {@link Method#invoke} with the dispatcher.
+     * Only reports the timings, the numbers are too noisy on shared machines
+     * to assert on. Ignored by default because of its running time, remove
+     * the {@link Ignore} to run it locally.
+     */
+    @Ignore("Benchmark, run manually")
+    @Test
+    public void benchmarkDispatch() throws Exception {
+        VideoAPIViewListener listener = new VideoAPIViewListener() {
+            @Override public void onConferenceJoined(Map<String, Object> data) {}
+            @Override public void onConferenceTerminated(Map<String, Object> data) {}
+            @Override public void onConferenceWillJoin(Map<String, Object> data) {}
+            @Override public void onParticipantLeft(Map<String, Object> data) {}
+            @Override public void onParticipantJoined(Map<String, Object> data) {}
+            @Override public void onRaiseHandUpdated(Map<String, Object> data) {}
+        };
+        Map<String, Method> methods
+            = ListenerUtils.mapListenerMethods(VideoAPIViewListener.class);
+        VideoAPIViewListenerDispatcher dispatcher
+            = VideoAPIViewListenerDispatcher.INSTANCE;
+        String[] names = methods.keySet().toArray(new String[0]);
+        HashMap<String, Object> data = new HashMap<>();
+
+        // Warm up both paths.
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            String name = names[i % names.length];
+
+            methods.get(name).invoke(listener, data);
+            dispatcher.dispatch(listener, name, data);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            methods.get(names[i % names.length]).invoke(listener, data);
+        }
+
+        long reflection = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            dispatcher.dispatch(listener, names[i % names.length], data);
+        }
+
+        long direct = System.nanoTime() - start;
+
+        System.out.println(
+            "Listener dispatch: reflection "
+                + (reflection / BENCHMARK_ITERATIONS) + " ns/event, dispatcher "
+                + (direct / BENCHMARK_ITERATIONS) + " ns/event");
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package code.videoapi.sdk;
+
+import org.junit.Test;
+
+import static code.videoapi.sdk.VideoAPIAudioRoutingPolicy.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link VideoAPIPriorityAudioRoutingPolicy} class.
+ */
+public class VideoAPIPriorityAudioRoutingPolicyTest {
+    private final VideoAPIAudioRoutingPolicy policy
+        = new VideoAPIPriorityAudioRoutingPolicy(BLUETOOTH, HEADPHONES, EARPIECE);
+
+    @Test
+    public void testSelectsMostPreferredAvailableDevice() {
+        assertEquals(BLUETOOTH, policy.selectDevice(BLUETOOTH | HEADPHONES | SPEAKER));
+        assertEquals(HEADPHONES, policy.selectDevice(HEADPHONES | EARPIECE | SPEAKER));
+        assertEquals(EARPIECE, policy.selectDevice(EARPIECE | SPEAKER));
+    }
+
+    @Test
+    public void testFallsBackToSpeaker() {
+        assertEquals(SPEAKER, policy.selectDevice(SPEAKER));
+        assertEquals(SPEAKER, policy.selectDevice(0));
+    }
+
+    @Test
+    public void testDevicesAreDistinctBits() {
+        int[] devices = { BLUETOOTH, EARPIECE, HEADPHONES, SPEAKER };
+        int mask = 0;
+
+        for (int device : devices) {
+            assertEquals(1, Integer.bitCount(device));
+            assertEquals(0, mask & device);
+            mask |= device;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package code.videoapi.sdk;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link VideoAPIVideoCodecPolicy} class.
+ */
+public class VideoAPIVideoCodecPolicyTest {
+    /**
+     * Fake codec capabilities, as a device with a H.264 hardware encoder
+     * supporting two profiles would report them.
+     */
+    private static final String[] SUPPORTED
+        = { "VP8", "VP9", "H264", "H264", "AV1" };
+
+    private static final VideoAPIVideoCodecPolicy.CodecNameGetter<String> NAME
+        = new VideoAPIVideoCodecPolicy.CodecNameGetter<String>() {
+            @Override
+            public String getName(String codec) {
+                return codec;
+            }
+        };
+
+    /**
+     * The default policy keeps the codecs and their order untouched.
+     */
+    @Test
+    public void testDefaultAllowsAll() {
+        VideoAPIVideoCodecPolicy policy = VideoAPIVideoCodecPolicy.DEFAULT;
+
+        assertEquals(VideoAPIVideoCodecPolicy.Mode.SOFTWARE, policy.getMode());
+        assertFalse(policy.isSimulcastEnabled());
+        assertEquals(Arrays.asList(SUPPORTED), policy.selectCodecs(SUPPORTED, NAME));
+    }
+
+    /**
+     * Codecs which aren't allowed are dropped and the others are sorted by
+     * preference, keeping duplicates.
+     */
+    @Test
+    public void testRestrictionAndPreference() {
+        VideoAPIVideoCodecPolicy policy
+            = new VideoAPIVideoCodecPolicy.Builder()
+                .setCodecs("h264", "VP8")
+                .build();
+        List<String> selected = policy.selectCodecs(SUPPORTED, NAME);
+
+        assertEquals(Arrays.asList("H264", "H264", "VP8"), selected);
+        assertTrue(policy.isCodecAllowed("vp8"));
+        assertFalse(policy.isCodecAllowed("VP9"));
+    }
+
+    /**
+     * Allowing only codecs the device doesn't support leaves nothing.
+     */
+    @Test
+    public void testNoSupportedCodec() {
+        VideoAPIVideoCodecPolicy policy
+            = new VideoAPIVideoCodecPolicy.Builder()
+                .setCodecs("H265")
+                .build();
+
+        assertTrue(policy.selectCodecs(SUPPORTED, NAME).isEmpty());
+    }
+}
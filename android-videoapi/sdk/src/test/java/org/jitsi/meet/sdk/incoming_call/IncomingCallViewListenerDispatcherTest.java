@@ -0,0 +1,80 @@
+/*
+ * Copyright @ 2021-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package code.videoapi.sdk.incoming_call;
+
+import code.videoapi.sdk.ListenerUtils;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IncomingCallViewListenerDispatcher} class.
+ */
+public class IncomingCallViewListenerDispatcherTest {
+    /**
+     * Creates an {@link IncomingCallViewListener} which records the names of
+     * the methods called on it.
+     */
+    private static IncomingCallViewListener createListener(final List<String> calls) {
+        return (IncomingCallViewListener) Proxy.newProxyInstance(
+            IncomingCallViewListener.class.getClassLoader(),
+            new Class<?>[] { IncomingCallViewListener.class },
+            new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    calls.add(method.getName());
+                    return null;
+                }
+            });
+    }
+
+    /**
+     * The dispatcher handles the same events as the reflection-based mapping
+     * and calls the same listener methods.
+     */
+    @Test
+    public void testMatchesListenerMethods() {
+        Map<String, Method> methods
+            = ListenerUtils.mapListenerMethods(IncomingCallViewListener.class);
+        IncomingCallViewListenerDispatcher dispatcher
+            = IncomingCallViewListenerDispatcher.INSTANCE;
+
+        assertFalse(methods.isEmpty());
+
+        for (Map.Entry<String, Method> entry : methods.entrySet()) {
+            List<String> calls = new ArrayList<>();
+
+            assertTrue(entry.getKey(), dispatcher.canDispatch(entry.getKey()));
+            dispatcher.dispatch(
+                createListener(calls),
+                entry.getKey(),
+                new HashMap<String, Object>());
+            assertEquals(1, calls.size());
+            assertEquals(entry.getValue().getName(), calls.get(0));
+        }
+
+        assertFalse(dispatcher.canDispatch("CONFERENCE_JOINED"));
+    }
+}
@@ -23,7 +23,9 @@ module.exports = (async () => {
             getTransformOptions: async () => ({
                 transform: {
                     experimentalImportSupport: false,
-                    inlineRequires: false,
+                    // Enabled by the Android SDK build when producing an
+                    // indexed RAM bundle.
+                    inlineRequires: process.env.VIDEOAPI_INLINE_REQUIRES === 'true',
                 },
             }),
         },
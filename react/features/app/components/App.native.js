@@ -32,6 +32,12 @@ type Props = AbstractAppProps & {
      */
     colorScheme: ?Object,
 
+    /**
+     * The names of the events to send to the native side, all of them if not
+     * specified.
+     */
+    externalAPIEvents: ?Array<string>,
+
     /**
      * Identifier for this app on the native side.
      */
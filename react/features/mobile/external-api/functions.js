@@ -21,6 +21,11 @@ export function sendEvent(store: Object, name: string, data: Object) {
     // the native view which hosts it.
     const externalAPIScope = getAppProp(store, 'externalAPIScope');
 
+    // The native side may tell which events its listener handles, the others
+    // are not worth serializing and sending over the bridge.
+    const externalAPIEvents = getAppProp(store, 'externalAPIEvents');
+
     externalAPIScope
+        && (!externalAPIEvents || externalAPIEvents.includes(name))
         && NativeModules.ExternalAPI.sendEvent(name, data, externalAPIScope);
 }
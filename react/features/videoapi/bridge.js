@@ -1,10 +1,11 @@
-import { NativeEventEmitter, NativeModules } from 'react-native';
+import { DeviceEventEmitter, NativeEventEmitter, NativeModules } from 'react-native';
 import LibVideoAPI from '../base/lib-jitsi-meet';
 import { APP_WILL_MOUNT, APP_WILL_UNMOUNT } from '../base/app';
 import { setAudioMuted, setVideoMuted } from '../base/media';
 import { getLocalParticipant, participantUpdated } from '../base/participants';
 import { MiddlewareRegistry } from '../base/redux';
 import { processExternalDeviceRequest } from '../device-selection/functions';
+import { toggleTileView } from '../video-layout/actions';
 import { devicesListUpdated } from './actions';
 
 import { _SET_VIDEOAPI_BRIDGE_SUBSCRIPTIONS } from './actionTypes';
@@ -12,6 +13,17 @@ import { Commands } from './commands';
 
 const bridge = new NativeEventEmitter(NativeModules.VideoAPICommandBridge);
 
+/**
+ * The native side sends the events which aren't urgent in batches, see
+ * JSEventEmitter.java. Re-emit them one by one so their listeners don't need
+ * to know.
+ */
+DeviceEventEmitter.addListener('code.videoapi:batched-events', events => {
+    for (const { name, data } of events) {
+        DeviceEventEmitter.emit(name, data);
+    }
+});
+
 MiddlewareRegistry.register(store => next => action => {
     /* eslint-disable no-fallthrough */
     switch (action.type) {
@@ -31,6 +43,23 @@ MiddlewareRegistry.register(store => next => action => {
     return next(action);
 });
 
+/**
+ * Acknowledges a command sent by the native side with a request ID, see
+ * VideoAPICommandBridgeModule.sendCommand. Commands sent without one are
+ * fire-and-forget.
+ *
+ * @param {Object} event - The event carrying the command.
+ * @param {Error|string} [error] - The error, if the command failed.
+ * @returns {void}
+ */
+function _commandCompleted(event, error) {
+    if (event && typeof event.requestId === 'number') {
+        NativeModules.VideoAPICommandBridge.commandCompleted(
+            event.requestId,
+            error ? String(error) : null);
+    }
+}
+
 /**
  * Notifies this feature that the action {@link APP_WILL_MOUNT} is being
  * dispatched within a specific redux {@code store}.
@@ -46,36 +75,47 @@ function _appWillMount(store) {
         bridge.addListener(Commands.GET_DEVICES_LIST, (event)=>{
 
             console.log('xxx getdevicesList');
-            navigator.mediaDevices.getUserMedia({audio:{}, video:{}}).then(_ => {
-                navigator.mediaDevices.enumerateDevices()
+            navigator.mediaDevices.getUserMedia({audio:{}, video:{}})
+                .then(() => navigator.mediaDevices.enumerateDevices())
                 .then(devices => {
-                    const filtered = devices.filter(device => device.kind === type);
-
                     store.dispatch(devicesListUpdated(devices));
-                });
-            });
+                    _commandCompleted(event);
+                })
+                .catch(error => _commandCompleted(event, error));
         }, store),
-        bridge.addListener(Commands.TOGGLE_AUDIO, _ => {
+        bridge.addListener(Commands.TOGGLE_AUDIO, event => {
             const { getState } = store;
             const { muted } = getState()['features/base/media'].audio;
 
             store.dispatch(setAudioMuted(!muted));
+            _commandCompleted(event);
         }, store),
-        bridge.addListener(Commands.TOGGLE_VIDEO, _ => {
+        bridge.addListener(Commands.TOGGLE_VIDEO, event => {
             const { getState } = store;
             const { muted } = getState()['features/base/media'].video;
 
             store.dispatch(setVideoMuted(!muted));
+            _commandCompleted(event);
         }, store),
         bridge.addListener(Commands.TOGGLE_RAISE_HAND, event => {
             const _localParticipant = getLocalParticipant(store);
 
+            if (!_localParticipant) {
+                _commandCompleted(event, 'no local participant');
+
+                return;
+            }
 
             store.dispatch(participantUpdated({
                 id: _localParticipant.id,
                 local: true,
                 raisedHand: event['handRaised']
             }));
+            _commandCompleted(event);
+        }, store),
+        bridge.addListener(Commands.TOGGLE_TILE_VIEW, event => {
+            store.dispatch(toggleTileView());
+            _commandCompleted(event);
         }, store)
     ];
 
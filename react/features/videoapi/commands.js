@@ -3,4 +3,5 @@ export const Commands = {
     TOGGLE_AUDIO: 'vToggleAudio',
     TOGGLE_VIDEO: 'vToggleVideo',
     TOGGLE_RAISE_HAND: 'vToggleRaiseHand',
+    TOGGLE_TILE_VIEW: 'vToggleTileView',
 }
\ No newline at end of file